@@ -0,0 +1,86 @@
+package bignumber.bench;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The BigNumberBenchmark operations on java.math.BigInteger, as the baseline.
+ * BigInteger is binary and immutable, so the decimal operations map to their nearest equivalents:
+ * a decimal shift is a multiply or divide by a precomputed 10^SHIFT, getDigitAt divides by a
+ * precomputed power of ten, and copy round-trips through the two's-complement bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class BigIntegerBenchmark {
+    @Param({"10", "1000", "100000", "10000000"})
+    public int digits;
+
+    String text;
+    BigInteger a;
+    BigInteger b;
+    BigInteger aCopy;
+    BigInteger shiftPower;
+    BigInteger digitPower;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = BigNumberBenchmark.randomDigits(digits, 1);
+        a = new BigInteger(text);
+        b = new BigInteger(BigNumberBenchmark.randomDigits(digits, 2));
+        aCopy = new BigInteger(text);
+        shiftPower = BigInteger.TEN.pow(BigNumberBenchmark.SHIFT);
+        digitPower = BigInteger.TEN.pow(digits / 2);
+    }
+
+    @Benchmark
+    public BigInteger construct() {
+        return new BigInteger(text);
+    }
+
+    @Benchmark
+    public BigInteger add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return a.compareTo(aCopy);
+    }
+
+    @Benchmark
+    public int getDigitAt() {
+        return a.divide(digitPower).mod(BigInteger.TEN).intValue();
+    }
+
+    @Benchmark
+    public BigInteger shiftLeftThenRight() {
+        return a.multiply(shiftPower).divide(shiftPower);
+    }
+
+    @Benchmark
+    public BigInteger copy() {
+        return new BigInteger(a.toByteArray());
+    }
+
+    @Benchmark
+    public String toStringBenchmark() {
+        return a.toString();
+    }
+}
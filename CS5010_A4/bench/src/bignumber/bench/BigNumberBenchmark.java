@@ -0,0 +1,159 @@
+package bignumber.bench;
+
+import bignumber.BigNumber;
+import bignumber.BigNumberImpl;
+import bignumber.LimbBigNumberImpl;
+import bignumber.OffHeapBigNumberImpl;
+import bignumber.PersistentBigNumberImpl;
+import bignumber.ScaledBigNumberImpl;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmarks for the BigNumber implementations, one operation per method, for every
+ * implementation and size. BigIntegerBenchmark runs the same operations on java.math.BigInteger
+ * as the baseline. Run main() to get both suites with the GC profiler, which adds the
+ * allocation rate (gc.alloc.rate.norm, bytes per operation) next to every score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// 10^7-digit linked lists need a few hundred MB each
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class BigNumberBenchmark {
+    // digits moved by the shift benchmarks
+    static final int SHIFT = 8;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int digits;
+
+    @Param({"BigNumberImpl", "LimbBigNumberImpl", "ScaledBigNumberImpl", "PersistentBigNumberImpl", "OffHeapBigNumberImpl"})
+    public String implementation;
+
+    String text;
+    BigNumber a;
+    BigNumber b;
+    // same value as a, different object, so compareTo has to read every digit
+    BigNumber aCopy;
+
+    /** Random digits without a leading zero, the same for every implementation. */
+    static String randomDigits(int digits, long seed) {
+        Random rnd = new Random(seed);
+        char[] chars = new char[digits];
+        chars[0] = (char) ('1' + rnd.nextInt(9));
+        for (int i = 1; i < digits; i++) {
+            chars[i] = (char) ('0' + rnd.nextInt(10));
+        }
+        return new String(chars);
+    }
+
+    BigNumber parse(String s) {
+        switch (implementation) {
+            case "BigNumberImpl": return new BigNumberImpl(s);
+            case "LimbBigNumberImpl": return new LimbBigNumberImpl(s);
+            case "ScaledBigNumberImpl": return new ScaledBigNumberImpl(s);
+            case "PersistentBigNumberImpl": return new PersistentBigNumberImpl(s);
+            case "OffHeapBigNumberImpl": return new OffHeapBigNumberImpl(s);
+            default: throw new IllegalArgumentException("unknown implementation " + implementation);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = randomDigits(digits, 1);
+        a = parse(text);
+        b = parse(randomDigits(digits, 2));
+        aCopy = parse(text);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (BigNumber n : new BigNumber[] {a, b, aCopy}) {
+            if (n instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) n).close();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    // results that own off-heap memory are released right away, so only the operation is measured
+    private static <T> T release(T result) {
+        if (result instanceof OffHeapBigNumberImpl) {
+            ((OffHeapBigNumberImpl) result).close();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public BigNumber construct() {
+        return release(parse(text));
+    }
+
+    @Benchmark
+    public BigNumber add() {
+        return release(a.add(b));
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return a.compareTo(aCopy);
+    }
+
+    @Benchmark
+    public int getDigitAt() {
+        return a.getDigitAt(digits / 2);
+    }
+
+    // a left and a right shift, so the state is the same before every call (the persistent
+    // implementation returns new numbers and leaves a alone, which gives the same result)
+    @Benchmark
+    public BigNumber shiftLeftThenRight() {
+        return a.shiftLeft(SHIFT).shiftRight(SHIFT);
+    }
+
+    @Benchmark
+    public BigNumber copy() {
+        BigNumber copy = a.copy();
+        // the persistent implementation returns a itself, which must not be closed
+        return copy == a ? copy : release(copy);
+    }
+
+    @Benchmark
+    public String toStringBenchmark() {
+        return a.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BigNumberBenchmark.class.getSimpleName())
+                .include(BigIntegerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
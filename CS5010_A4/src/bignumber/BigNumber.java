@@ -1,5 +1,7 @@
 package bignumber;
 
+import java.util.PrimitiveIterator;
+
 public interface BigNumber extends  Comparable<BigNumber>{
     // number of digits
     int length();
@@ -22,16 +24,57 @@ public interface BigNumber extends  Comparable<BigNumber>{
      */
     int getDigitAt(int pos);
 
+    /**
+     * return a cursor over the digits, starting at the rightmost (least-significant) digit, pos=0.
+     * Any two implementations can add and compare through this in one streaming pass.
+     */
+    PrimitiveIterator.OfInt digits();
+
     // provide a copy of this BigNumber
     BigNumber copy();
 
     // return the sum of big numbers
     BigNumber add(BigNumber other);
 
+    // return the product of big numbers (sub-quadratic for large operands)
+    BigNumber multiply(BigNumber other);
+
+    /**
+     * return the quotient of this divided by divisor, rounded down
+     * @throws IllegalArgumentException if divisor is 0
+     */
+    BigNumber divide(BigNumber divisor);
+
+    /**
+     * return the remainder of this divided by divisor
+     * @throws IllegalArgumentException if divisor is 0
+     */
+    BigNumber remainder(BigNumber divisor);
+
+    /**
+     * return {quotient, remainder} computed by a single division
+     * @throws IllegalArgumentException if divisor is 0
+     */
+    BigNumber[] divMod(BigNumber divisor);
+
     // basic calculations
     @Override
     int compareTo(BigNumber other);
 
+    /**
+     * true iff o is a BigNumber of the same value, whatever its implementation
+     * (consistent with compareTo)
+     */
+    @Override
+    boolean equals(Object o);
+
+    /**
+     * sum of digit_i * 31^i over all positions i (pos 0 is the LSD), in int arithmetic,
+     * so equal numbers of different implementations hash alike
+     */
+    @Override
+    int hashCode();
+
     @Override
     String toString();
 }
\ No newline at end of file
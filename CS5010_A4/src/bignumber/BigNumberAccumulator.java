@@ -0,0 +1,164 @@
+package bignumber;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Mutable running total of BigNumbers. Every addInPlace adds into the same storage, which grows
+ * geometrically, so summing N numbers allocates in proportion to the result, not to N.
+ *
+ * The storage is a long per base 10^9 limb and carries are only propagated when the total is read
+ * (or after about a billion additions), so each addition is one carry-free pass over its limbs.
+ */
+public class BigNumberAccumulator {
+    private static final int BASE = LimbBigNumberImpl.BASE;
+    // a normalized lane is < BASE and each addition adds < BASE, so this many additions stay below Long.MAX_VALUE
+    private static final int MAX_PENDING = 1 << 30;
+
+    // lanes[0] is the least-significant limb; only the first size lanes are in use
+    private long[] lanes;
+    private int size;
+    private int pending;
+
+    // start at 0
+    public BigNumberAccumulator() {
+        this.lanes = new long[4];
+        this.size = 0;
+        this.pending = 0;
+    }
+
+    // start at the value of initial
+    public BigNumberAccumulator(BigNumber initial) {
+        this();
+        addInPlace(initial);
+    }
+
+    // grow the lanes geometrically so the storage is reused across additions
+    private void ensureCapacity(int capacity) {
+        if (capacity > lanes.length) {
+            lanes = Arrays.copyOf(lanes, Math.max(capacity, lanes.length * 2));
+        }
+        if (capacity > size) {
+            size = capacity;
+        }
+    }
+
+    /**
+     * add other to the running total, in place
+     * @return this accumulator
+     * @throws IllegalArgumentException if other is null
+     */
+    public BigNumberAccumulator addInPlace(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        if (pending == MAX_PENDING) {
+            normalize();
+        }
+
+        if (other instanceof LimbBigNumberImpl) {
+            // read the limbs in place
+            LimbBigNumberImpl limbs = (LimbBigNumberImpl) other;
+            int count = limbs.limbCount();
+            ensureCapacity(count);
+            for (int i = 0; i < count; i++) {
+                lanes[i] += limbs.limbAt(i);
+            }
+        } else {
+            // any other representation: pack its digit cursor into limbs on the fly
+            int count = (other.length() + LimbBigNumberImpl.DIGITS_PER_LIMB - 1) / LimbBigNumberImpl.DIGITS_PER_LIMB;
+            ensureCapacity(count);
+            PrimitiveIterator.OfInt digits = other.digits();
+            for (int i = 0; i < count; i++) {
+                lanes[i] += LimbBigNumberImpl.nextLimb(digits);
+            }
+        }
+        pending++;
+        return this;
+    }
+
+    /**
+     * add every number of values to the running total, in place
+     * @return this accumulator
+     * @throws IllegalArgumentException if values or any of its elements is null
+     */
+    public BigNumberAccumulator addAll(Iterable<? extends BigNumber> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("values must not be null");
+        }
+        for (BigNumber value : values) {
+            addInPlace(value);
+        }
+        return this;
+    }
+
+    /**
+     * add the running total of another accumulator into this one; other is left unchanged
+     * @return this accumulator
+     */
+    public BigNumberAccumulator addInPlace(BigNumberAccumulator other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        // both sides are normalized first, so the merged lanes still count as one pending addition
+        normalize();
+        other.normalize();
+        ensureCapacity(other.size);
+        for (int i = 0; i < other.size; i++) {
+            lanes[i] += other.lanes[i];
+        }
+        pending++;
+        return this;
+    }
+
+    // reset to 0, keeping the storage for the next round
+    public void clear() {
+        Arrays.fill(lanes, 0, size, 0);
+        size = 0;
+        pending = 0;
+    }
+
+    // propagate the delayed carries so every lane is below BASE
+    private void normalize() {
+        long carry = 0;
+        for (int i = 0; i < size; i++) {
+            long t = lanes[i] + carry;
+            lanes[i] = t % BASE;
+            carry = t / BASE;
+        }
+        while (carry > 0) {
+            ensureCapacity(size + 1);
+            lanes[size - 1] = carry % BASE;
+            carry /= BASE;
+        }
+        while (size > 0 && lanes[size - 1] == 0) {size--;}
+        pending = 0;
+    }
+
+    // number of digits of the running total
+    public int length() {
+        normalize();
+        if (size == 0) return 1;
+        return (size - 1) * LimbBigNumberImpl.DIGITS_PER_LIMB + LimbBigNumberImpl.digitCount((int) lanes[size - 1]);
+    }
+
+    private int[] toLimbArray() {
+        int[] limbs = new int[size];
+        for (int i = 0; i < size; i++) {
+            limbs[i] = (int) lanes[i];
+        }
+        return limbs;
+    }
+
+    /** A snapshot of the running total; later additions do not change it. */
+    public BigNumber toBigNumber() {
+        normalize();
+        int[] limbs = toLimbArray();
+        return new LimbBigNumberImpl(limbs, limbs.length);
+    }
+
+    @Override
+    public String toString() {
+        return toBigNumber().toString();
+    }
+}
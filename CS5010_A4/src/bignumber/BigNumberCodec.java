@@ -0,0 +1,181 @@
+package bignumber;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Compact binary form of a BigNumber: the digit count as a 4-byte int, then packed BCD,
+ * two digits per byte starting at the least-significant digit (low nibble first).
+ * For example, 12345 is encoded as the bytes 00 00 00 05 45 23 01 (hex).
+ * That is about half the size of toString(), and decoding builds base 10^9 limbs directly, with no String in between.
+ */
+public final class BigNumberCodec {
+    private static final int DIGITS_PER_LIMB = LimbBigNumberImpl.DIGITS_PER_LIMB;
+    // bytes read from a DataInput at a time, so a bogus digit count cannot force a huge allocation
+    static final int READ_CHUNK = 1 << 16;
+
+    private BigNumberCodec() {}
+
+    /** Number of bytes write() produces for n. */
+    public static int encodedSize(BigNumber n) {
+        return Integer.BYTES + payloadBytes(n.length());
+    }
+
+    /**
+     * Write n at the buffer's position, advancing it by encodedSize(n).
+     * @throws BufferOverflowException if dst has fewer bytes remaining
+     */
+    public static void write(BigNumber n, ByteBuffer dst) {
+        if (n == null || dst == null) {
+            throw new IllegalArgumentException("number and buffer must not be null");
+        }
+        int length = n.length();
+        if (dst.remaining() < Integer.BYTES + payloadBytes(length)) {
+            throw new BufferOverflowException();
+        }
+        dst.putInt(length);
+        PrimitiveIterator.OfInt digits = n.digits();
+        for (int i = 0; i + 1 < length; i += 2) {
+            int low = digits.nextInt();
+            dst.put((byte) (low | digits.nextInt() << 4));
+        }
+        if (length % 2 != 0) {
+            dst.put((byte) digits.nextInt());
+        }
+    }
+
+    /**
+     * Read one number at the buffer's position, advancing it past the encoding.
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     * @throws BufferUnderflowException if the encoding is truncated
+     */
+    public static BigNumber read(ByteBuffer src) {
+        if (src == null) {
+            throw new IllegalArgumentException("buffer must not be null");
+        }
+        int length = readLength(src.getInt());
+        int bytes = payloadBytes(length);
+        // the count is untrusted: check it against the payload before allocating for it
+        if (src.remaining() < bytes) {
+            throw new BufferUnderflowException();
+        }
+        Decoder decoder = new Decoder(length, limbsFor(length));
+        for (int b = 0; b < bytes; b++) {
+            decoder.accept(src.get() & 0xFF);
+        }
+        return decoder.finish();
+    }
+
+    /** Write n to out in the same format as write(BigNumber, ByteBuffer). */
+    public static void write(BigNumber n, DataOutput out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("output must not be null");
+        }
+        ByteBuffer encoded = ByteBuffer.allocate(encodedSize(n));
+        write(n, encoded);
+        out.write(encoded.array());
+    }
+
+    /**
+     * Read one number from in, in the same format as read(ByteBuffer).
+     * The payload is read in chunks of at most READ_CHUNK bytes and the limbs grow as digits arrive,
+     * so a count larger than the actual input costs no more memory than the input itself.
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     * @throws java.io.EOFException if the input ends inside the encoding
+     */
+    public static BigNumber read(DataInput in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("input must not be null");
+        }
+        int length = readLength(in.readInt());
+        int remaining = payloadBytes(length);
+        Decoder decoder = new Decoder(length, Math.min(limbsFor(length), READ_CHUNK));
+        byte[] chunk = new byte[Math.min(remaining, READ_CHUNK)];
+        while (remaining > 0) {
+            int n = Math.min(remaining, chunk.length);
+            in.readFully(chunk, 0, n);
+            for (int b = 0; b < n; b++) {
+                decoder.accept(chunk[b] & 0xFF);
+            }
+            remaining -= n;
+        }
+        return decoder.finish();
+    }
+
+    /* ------------------ helpers ------------------ */
+
+    private static int readLength(int length) {
+        if (length < 1) {
+            throw new IllegalArgumentException("invalid digit count: " + length);
+        }
+        return length;
+    }
+
+    // bytes of packed BCD for length digits, without overflowing near Integer.MAX_VALUE
+    private static int payloadBytes(int length) {
+        return (length >>> 1) + (length & 1);
+    }
+
+    private static int limbsFor(int length) {
+        return (int) (((long) length + DIGITS_PER_LIMB - 1) / DIGITS_PER_LIMB);
+    }
+
+    /** Packs BCD bytes, LSD first, into base 10^9 limbs, growing the limb array as needed. */
+    private static final class Decoder {
+        private final int length;
+        private int[] limbs;
+        private int count;   // limbs completed
+        private int limb;
+        private int filled;  // digits in limb so far
+        private long digits; // digits read so far
+
+        Decoder(int length, int initialLimbs) {
+            this.length = length;
+            this.limbs = new int[initialLimbs];
+        }
+
+        void accept(int pair) {
+            int low = pair & 0x0F;
+            int high = pair >>> 4;
+            boolean last = digits + 1 == length;
+            if (low > 9 || high > 9 || (last && high != 0)) {
+                throw new IllegalArgumentException("invalid BCD byte 0x" + Integer.toHexString(pair));
+            }
+            addDigit(low);
+            if (!last) {
+                addDigit(high);
+            }
+        }
+
+        private void addDigit(int digit) {
+            limb += digit * LimbBigNumberImpl.POW10[filled];
+            digits++;
+            if (++filled == DIGITS_PER_LIMB) {
+                store();
+            }
+        }
+
+        private void store() {
+            if (count == limbs.length) {
+                limbs = Arrays.copyOf(limbs, (int) Math.min((long) limbs.length * 2, limbsFor(length)));
+            }
+            limbs[count++] = limb;
+            limb = 0;
+            filled = 0;
+        }
+
+        BigNumber finish() {
+            if (filled > 0) {
+                store();
+            }
+            // leading zero digits become zero top limbs, which the constructor trims
+            return new LimbBigNumberImpl(limbs, count);
+        }
+    }
+}
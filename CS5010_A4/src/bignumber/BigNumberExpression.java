@@ -0,0 +1,192 @@
+package bignumber;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Deferred sum of shifted BigNumbers, such as a + b.shiftLeft(k) + c, evaluated in one pass.
+ * Building the expression only records (term, shift) pairs; evaluate() then walks the digit
+ * cursors of all terms together, LSD first, with a single running carry, and allocates only the result.
+ * Chaining add() and shiftLeft() instead creates a full-length intermediate number per step.
+ *
+ * Terms are kept by reference and read when evaluate() runs, so a term changed in between
+ * (for example by its own shiftLeft) is evaluated with its new value.
+ */
+public class BigNumberExpression {
+    private static final int DIGITS_PER_LIMB = LimbBigNumberImpl.DIGITS_PER_LIMB;
+
+    private BigNumber[] terms;
+    // shifts[i] + offset is where the LSD of terms[i] lands in the result
+    private long[] shifts;
+    private int size;
+    // shift applied to the whole expression by shiftLeft, so it costs O(1)
+    private long offset;
+
+    // the empty sum, 0
+    public BigNumberExpression() {
+        this.terms = new BigNumber[4];
+        this.shifts = new long[4];
+        this.size = 0;
+        this.offset = 0;
+    }
+
+    // start with a single term
+    public BigNumberExpression(BigNumber first) {
+        this();
+        plus(first);
+    }
+
+    /**
+     * add term to the expression
+     * @return this expression
+     * @throws IllegalArgumentException if term is null
+     */
+    public BigNumberExpression plus(BigNumber term) {
+        return plus(term, 0);
+    }
+
+    /**
+     * add term * 10^shift to the expression, without shifting term itself
+     * @return this expression
+     * @throws IllegalArgumentException if term is null or shift is negative
+     */
+    public BigNumberExpression plus(BigNumber term, int shift) {
+        if (term == null) {
+            throw new IllegalArgumentException("term must not be null");
+        }
+        if (shift < 0) {
+            throw new IllegalArgumentException("shift must not be negative");
+        }
+        if (size == terms.length) {
+            terms = Arrays.copyOf(terms, size * 2);
+            shifts = Arrays.copyOf(shifts, size * 2);
+        }
+        terms[size] = term;
+        // stored relative to the current offset, so earlier shiftLeft calls do not apply to it
+        shifts[size] = shift - offset;
+        size++;
+        return this;
+    }
+
+    /**
+     * add every number of values to the expression
+     * @return this expression
+     * @throws IllegalArgumentException if values or any of its elements is null
+     */
+    public BigNumberExpression plusAll(Iterable<? extends BigNumber> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("values must not be null");
+        }
+        for (BigNumber value : values) {
+            plus(value);
+        }
+        return this;
+    }
+
+    /**
+     * add all terms of other, as it is now, to this expression; other is left unchanged
+     * @return this expression
+     */
+    public BigNumberExpression plus(BigNumberExpression other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        int count = other.size; // read once, in case other is this
+        for (int i = 0; i < count; i++) {
+            long shift = other.shifts[i] + other.offset;
+            if (shift > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("shift too large");
+            }
+            plus(other.terms[i], (int) shift);
+        }
+        return this;
+    }
+
+    /**
+     * multiply the whole expression so far by 10^k, in constant time
+     * @return this expression
+     * @throws IllegalArgumentException if k is negative
+     */
+    public BigNumberExpression shiftLeft(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("shift must not be negative");
+        }
+        offset += k;
+        return this;
+    }
+
+    // number of terms recorded so far
+    public int termCount() {
+        return size;
+    }
+
+    /**
+     * Compute the expression in one LSD-first pass over all terms.
+     * @throws IllegalArgumentException if the result would have more than Integer.MAX_VALUE digits
+     */
+    public BigNumber evaluate() {
+        if (size == 0) {
+            return new LimbBigNumberImpl();
+        }
+
+        // order the terms by where their LSD lands: (start << 32 | index), sorted
+        long[] byStart = new long[size];
+        long end = 0;
+        for (int i = 0; i < size; i++) {
+            long start = shifts[i] + offset;
+            end = Math.max(end, start + terms[i].length());
+            byStart[i] = start << 32 | i;
+        }
+        // a carry out of the top adds at most 19 digits (the carry is a long)
+        if (end + 19 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("result has too many digits");
+        }
+        Arrays.sort(byStart);
+
+        int[] limbs = new int[(int) ((end + 19 + DIGITS_PER_LIMB - 1) / DIGITS_PER_LIMB)];
+        PrimitiveIterator.OfInt[] active = new PrimitiveIterator.OfInt[size];
+        int[] activeEnd = new int[size];
+        int activeCount = 0;
+        int next = 0;
+        long carry = 0;
+        int pos = 0;
+        while (pos < end || carry > 0) {
+            if (activeCount == 0 && carry == 0) {
+                // nothing to add until the next term starts: those digits stay 0
+                if (next == size) break;
+                pos = Math.max(pos, (int) (byStart[next] >>> 32));
+            }
+            // terms whose LSD lands at pos join the pass
+            while (next < size && (int) (byStart[next] >>> 32) == pos) {
+                BigNumber term = terms[(int) byStart[next]];
+                active[activeCount] = term.digits();
+                activeEnd[activeCount] = pos + term.length();
+                activeCount++;
+                next++;
+            }
+
+            long sum = carry;
+            for (int j = 0; j < activeCount; ) {
+                sum += active[j].nextInt();
+                if (activeEnd[j] == pos + 1) {
+                    // this term is used up: move the last active term into its slot
+                    activeCount--;
+                    active[j] = active[activeCount];
+                    activeEnd[j] = activeEnd[activeCount];
+                    active[activeCount] = null;
+                } else {
+                    j++;
+                }
+            }
+            limbs[pos / DIGITS_PER_LIMB] += (int) (sum % 10) * LimbBigNumberImpl.POW10[pos % DIGITS_PER_LIMB];
+            carry = sum / 10;
+            pos++;
+        }
+        return new LimbBigNumberImpl(limbs, limbs.length);
+    }
+
+    @Override
+    public String toString() {
+        return evaluate().toString();
+    }
+}
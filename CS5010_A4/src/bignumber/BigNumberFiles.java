@@ -0,0 +1,98 @@
+package bignumber;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.PrimitiveIterator;
+
+/**
+ * Reads and writes BigNumbers as files of ASCII decimal digits through memory-mapped buffers,
+ * so a number with hundreds of millions of digits never exists as a java.lang.String.
+ * Reading keeps only the resulting limbs on the heap; writing fills the mapped file directly.
+ */
+public final class BigNumberFiles {
+    private BigNumberFiles() {}
+
+    /**
+     * Read a number from a file holding only decimal digits, optionally followed by one line break.
+     * Leading zeros are allowed, as in the String constructors.
+     * @throws IllegalArgumentException if the file is empty, too long, or holds a non-digit
+     * @throws IOException if the file cannot be read
+     */
+    public static BigNumber read(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path must not be null");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("file has more than " + Integer.MAX_VALUE + " bytes");
+            }
+            MappedByteBuffer digits = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            // ignore one trailing "\n" or "\r\n"
+            int end = (int) size;
+            if (end > 0 && digits.get(end - 1) == '\n') {end--;}
+            if (end > 0 && digits.get(end - 1) == '\r') {end--;}
+            if (end == 0) {
+                throw new IllegalArgumentException("empty file");
+            }
+
+            int bad = DecimalCodec.firstNonDigit(digits, 0, end);
+            if (bad >= 0) {
+                throw new IllegalArgumentException("invalid byte " + (digits.get(bad) & 0xFF) + " at offset " + bad);
+            }
+
+            int start = 0;
+            while (start < end - 1 && digits.get(start) == '0') {start++;}
+            int[] limbs = DecimalCodec.parseLimbs(digits, start, end);
+            return new LimbBigNumberImpl(limbs, limbs.length);
+        }
+    }
+
+    /**
+     * Write the digits of n to path (created or truncated), most significant first, no line break.
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(BigNumber n, Path path) throws IOException {
+        if (n == null || path == null) {
+            throw new IllegalArgumentException("number and path must not be null");
+        }
+        int length = n.length();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            if (n instanceof LimbBigNumberImpl) {
+                writeLimbs((LimbBigNumberImpl) n, out, length);
+            } else {
+                // the cursor starts at the LSD, which is the last byte of the file
+                PrimitiveIterator.OfInt digits = n.digits();
+                for (int pos = length - 1; pos >= 0; pos--) {
+                    out.put(pos, (byte) ('0' + digits.nextInt()));
+                }
+            }
+            out.force();
+        }
+    }
+
+    // nine digits per limb through a small scratch array, filling the file from its end
+    private static void writeLimbs(LimbBigNumberImpl n, ByteBuffer out, int length) {
+        byte[] scratch = new byte[LimbBigNumberImpl.DIGITS_PER_LIMB];
+        int end = length;
+        int top = n.limbCount() - 1;
+        for (int i = 0; i < top; i++) {
+            DecimalCodec.formatLimb(n.limbAt(i), scratch, scratch.length);
+            end -= scratch.length;
+            out.put(end, scratch);
+        }
+        // the top limb has no leading zeros
+        int limb = n.limbAt(top);
+        while (end > 0) {
+            out.put(--end, (byte) ('0' + limb % 10));
+            limb /= 10;
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package bignumber;
 
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
 /**
  * linked list implementation of BigNumber,
  * For example, the number 32411 can be stored as 1 -> 1 -> 4 -> 2 -> 3
@@ -18,6 +23,9 @@ public class BigNumberImpl implements BigNumber{
     // set global head
     private Node head;
     private int length;
+    // cached hashCode(); once computed, the mutators keep it up to date instead of dropping it
+    private int hash;
+    private boolean hashValid;
 
     // construct 0 as required to start with 0
     public BigNumberImpl() {
@@ -29,29 +37,27 @@ public class BigNumberImpl implements BigNumber{
     public BigNumberImpl(String s) {
         if (s == null || s.isEmpty()) {throw new IllegalArgumentException("null or empty string");}
 
+        // validate 8 digits per step instead of one char at a time
+        byte[] ascii = DecimalCodec.validatedAscii(s);
+
         // find the first non-zero digit
         int nonZeroIndex = 0;
-        while (nonZeroIndex < s.length() && s.charAt(nonZeroIndex) == '0') {nonZeroIndex++;}
+        while (nonZeroIndex < ascii.length && ascii[nonZeroIndex] == '0') {nonZeroIndex++;}
 
         // if all zeros, then construct a 0
-        if (nonZeroIndex == s.length()) {
+        if (nonZeroIndex == ascii.length) {
             this.head = new Node(0);
             this.length = 1;
             return;
         }
 
-        // verify all digits are valid
-        for (int i = nonZeroIndex; i < s.length(); i++) {
-            if (s.charAt(i) < '0' || s.charAt(i) > '9') {throw new IllegalArgumentException("invalid character: " + s.charAt(i));}
-        }
-
         // linked list builder: reverse the string and store the digits in the linked list
+        // (the list itself still needs one node per digit)
         Node head = null; //local
         Node tail = null;
         int count = 0;
-        for (int i = s.length() - 1; i >= nonZeroIndex; i--) {
-            int digit = s.charAt(i) - '0';
-            Node node = new Node(digit);
+        for (int i = ascii.length - 1; i >= nonZeroIndex; i--) {
+            Node node = new Node(ascii[i] - '0');
 
             if (head == null) {         // first node → both head and tail
                 head = tail = node;
@@ -71,6 +77,34 @@ public class BigNumberImpl implements BigNumber{
         this.length = length;
     }
 
+    /** Build a list number from base 10^9 limbs (least-significant first, as in LimbArithmetic). */
+    static BigNumberImpl fromLimbs(int[] limbs) {
+        int size = limbs.length;
+        while (size > 0 && limbs[size - 1] == 0) {size--;}
+        if (size == 0) {return new BigNumberImpl();}
+
+        Node head = null;
+        Node tail = null;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int limb = limbs[i];
+            // every limb holds 9 digits except the top one, which stops at its last non-zero digit
+            int digits = (i == size - 1) ? LimbBigNumberImpl.digitCount(limb) : LimbBigNumberImpl.DIGITS_PER_LIMB;
+            for (int j = 0; j < digits; j++) {
+                Node node = new Node(limb % 10);
+                limb /= 10;
+                if (head == null) {
+                    head = tail = node;
+                } else {
+                    tail.next = node;
+                    tail = node;
+                }
+                count++;
+            }
+        }
+        return new BigNumberImpl(head, count);
+    }
+
     private boolean isZero() {
         return length == 1 && head != null && head.data == 0 && head.next == null;
     }
@@ -93,6 +127,10 @@ public class BigNumberImpl implements BigNumber{
             head = zero;
             length++;
         }
+        // every digit moved up k positions: sum d_i P^(i+k) = P^k * sum d_i P^i
+        if (hashValid) {
+            hash *= BigNumbers.hashPow(BigNumbers.HASH_MULTIPLIER, k);
+        }
         return this;
     }
 
@@ -103,7 +141,13 @@ public class BigNumberImpl implements BigNumber{
 
         // drop k least-significant digits (from head).
         if (isZero()) return this;        // digits / 10^k, 0 stays 0.
+        int power = 1;
         for (int i = 0; i < k && head != null; i++) {
+            if (hashValid) {
+                // take the dropped digit out of the hash
+                hash -= head.data * power;
+                power *= BigNumbers.HASH_MULTIPLIER;
+            }
             head = head.next;      // drop one node from the head
             length--;
         }
@@ -111,6 +155,10 @@ public class BigNumberImpl implements BigNumber{
         if (head == null) {
             head = new Node(0);
             length = 1;
+            hash = 0;
+        } else if (hashValid) {
+            // the remaining digits moved down k positions
+            hash *= BigNumbers.hashPow(BigNumbers.HASH_INVERSE, k);
         }
         return this;
     }
@@ -124,13 +172,18 @@ public class BigNumberImpl implements BigNumber{
         // Add a digit to the least significant position with carry propagation
         Node current = head;
         int sum = current.data + digit;
+        // only the digits the carry touches change the hash: add (new - old) * P^i for each
+        int power = 1;
+        if (hashValid) {hash += (sum % 10 - current.data) * power;}
         current.data = sum % 10;
         int carry = sum / 10;
 
         // Propagate carry through the list
         while (carry > 0 && current.next != null) {
             current = current.next;
+            power *= BigNumbers.HASH_MULTIPLIER;
             sum = current.data + carry;
+            if (hashValid) {hash += (sum % 10 - current.data) * power;}
             current.data = sum % 10;
             carry = sum / 10;
         }
@@ -139,6 +192,7 @@ public class BigNumberImpl implements BigNumber{
         if (carry > 0) {
             current.next = new Node(carry);
             length++;
+            if (hashValid) {hash += carry * power * BigNumbers.HASH_MULTIPLIER;}
         }
 
         return this;
@@ -160,6 +214,27 @@ public class BigNumberImpl implements BigNumber{
         return current.data;
     }
 
+    @Override
+    public PrimitiveIterator.OfInt digits() {
+        // walk the list from the head, which already is the LSD
+        return new PrimitiveIterator.OfInt() {
+            private Node current = head;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (current == null) {throw new NoSuchElementException();}
+                int digit = current.data;
+                current = current.next;
+                return digit;
+            }
+        };
+    }
+
     @Override
     public BigNumber copy() {
         // Handle empty/zero case
@@ -185,30 +260,32 @@ public class BigNumberImpl implements BigNumber{
             current = current.next;
         }
 
-        return new BigNumberImpl(newHead, this.length);
+        BigNumberImpl copy = new BigNumberImpl(newHead, this.length);
+        copy.hash = this.hash;
+        copy.hashValid = this.hashValid;
+        return copy;
     }
 
     @Override
     public BigNumber add(BigNumber other) {
-        if (!(other instanceof BigNumberImpl)) {
-            throw new IllegalArgumentException("Can only add BigNumberImpl instances");
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
         }
 
-        BigNumberImpl otherImpl = (BigNumberImpl) other;
-
         // Create a new BigNumber for the result
         Node resultHead = null;
         Node resultTail = null;
         int resultLength = 0;
 
+        // stream the other operand's digits LSD-first, whatever its representation
         Node curr1 = this.head;
-        Node curr2 = otherImpl.head;
+        PrimitiveIterator.OfInt curr2 = other.digits();
         int carry = 0;
 
         // Add corresponding digits with carry
-        while (curr1 != null || curr2 != null || carry > 0) {
+        while (curr1 != null || curr2.hasNext() || carry > 0) {
             int digit1 = (curr1 != null) ? curr1.data : 0;
-            int digit2 = (curr2 != null) ? curr2.data : 0;
+            int digit2 = curr2.hasNext() ? curr2.nextInt() : 0;
 
             int sum = digit1 + digit2 + carry;
             carry = sum / 10;
@@ -226,16 +303,46 @@ public class BigNumberImpl implements BigNumber{
             resultLength++;
 
             if (curr1 != null) curr1 = curr1.next;
-            if (curr2 != null) curr2 = curr2.next;
         }
 
         return new BigNumberImpl(resultHead, resultLength);
     }
 
+    @Override
+    public BigNumber multiply(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        // pack both operands into limbs, multiply there, and unpack the product once
+        return fromLimbs(LimbArithmetic.multiply(LimbArithmetic.toLimbs(this), LimbArithmetic.toLimbs(other)));
+    }
+
+    @Override
+    public BigNumber divide(BigNumber divisor) {
+        return divMod(divisor)[0];
+    }
+
+    @Override
+    public BigNumber remainder(BigNumber divisor) {
+        return divMod(divisor)[1];
+    }
+
+    @Override
+    public BigNumber[] divMod(BigNumber divisor) {
+        if (divisor == null) {
+            throw new IllegalArgumentException("divisor must not be null");
+        }
+        int[][] result = LimbArithmetic.divMod(LimbArithmetic.toLimbs(this), LimbArithmetic.toLimbs(divisor));
+        return new BigNumber[] {fromLimbs(result[0]), fromLimbs(result[1])};
+    }
+
     @Override
     public int compareTo(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
         if (!(other instanceof BigNumberImpl)) {
-            throw new IllegalArgumentException("Can only compare with BigNumberImpl instances");
+            return BigNumbers.compareByDigits(this, other);
         }
 
         BigNumberImpl otherImpl = (BigNumberImpl) other;
@@ -245,57 +352,100 @@ public class BigNumberImpl implements BigNumber{
             return this.length > otherImpl.length ? 1 : -1;
         }
 
-        // Same length: compare digit by digit from MSD to LSD
-        // We need to traverse to the end and compare backwards,
-        // or store digits in an array
-        int[] thisDigits = new int[this.length];
-        int[] otherDigits = new int[otherImpl.length];
-
-        Node current = this.head;
-        for (int i = 0; i < this.length; i++) {
-            thisDigits[i] = current.data;
-            current = current.next;
+        // Same length: walk both lists together from the LSD. A difference at a more
+        // significant position overrides any earlier one, so the last difference seen is
+        // the MSD-first answer, and no digit arrays are needed
+        int result = 0;
+        Node curr1 = this.head;
+        Node curr2 = otherImpl.head;
+        while (curr1 != null) {
+            if (curr1.data != curr2.data) {
+                result = curr1.data > curr2.data ? 1 : -1;
+            }
+            curr1 = curr1.next;
+            curr2 = curr2.next;
         }
+        return result;
+    }
 
-        current = otherImpl.head;
-        for (int i = 0; i < otherImpl.length; i++) {
-            otherDigits[i] = current.data;
-            current = current.next;
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BigNumber)) return false;
+        if (!(o instanceof BigNumberImpl)) {
+            return compareTo((BigNumber) o) == 0;
         }
 
-        // Compare from MSD (the highest index) to LSD (index 0)
-        for (int i = this.length - 1; i >= 0; i--) {
-            if (thisDigits[i] != otherDigits[i]) {
-                return thisDigits[i] > otherDigits[i] ? 1 : -1;
-            }
+        BigNumberImpl other = (BigNumberImpl) o;
+        if (this.length != other.length) return false;
+        // two cached hashes settle most unequal pairs without touching a digit
+        if (this.hashValid && other.hashValid && this.hash != other.hash) return false;
+        for (Node a = this.head, b = other.head; a != null; a = a.next, b = b.next) {
+            if (a.data != b.data) return false;
         }
-
-        // All digits are equal
-        return 0;
+        return true;
     }
 
+    /** The hash defined on BigNumber, computed once and then maintained by the mutators. */
     @Override
-    public String toString() {
-        if (head == null) {
-            return "0";
+    public int hashCode() {
+        if (!hashValid) {
+            int h = 0;
+            int power = 1;
+            for (Node current = head; current != null; current = current.next) {
+                h += current.data * power;
+                power *= BigNumbers.HASH_MULTIPLIER;
+            }
+            hash = h;
+            hashValid = true;
         }
+        return hash;
+    }
 
-        // Count nodes and store in an array
-        int[] digits = new int[length];
-        Node current = head;
-        int index = 0;
-
-        while (current != null) {
-            digits[index++] = current.data;
-            current = current.next;
+    /**
+     * Write the digits, most significant first, into dst starting at offset.
+     * @return the number of chars written, always length()
+     * @throws IllegalArgumentException if dst has no room for length() chars at offset
+     */
+    public int getChars(char[] dst, int offset) {
+        if (dst == null || offset < 0 || dst.length - offset < length) {
+            throw new IllegalArgumentException("buffer too small for " + length + " digits");
+        }
+        // the head is the LSD, so fill the slot from its end backwards
+        int pos = offset + length;
+        for (Node current = head; current != null; current = current.next) {
+            dst[--pos] = (char) ('0' + current.data);
         }
+        return length;
+    }
 
-        // Build string in reverse order
-        StringBuilder sb = new StringBuilder();
-        for (int i = length - 1; i >= 0; i--) {
-            sb.append(digits[i]);
+    /**
+     * Append the digits to out without building an intermediate String.
+     * A StringBuilder is grown once and filled in place; other targets get one pre-sized chunk.
+     * @return out
+     */
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        if (out instanceof StringBuilder) {
+            StringBuilder sb = (StringBuilder) out;
+            int end = sb.length() + length;
+            sb.setLength(end);
+            int pos = end;
+            for (Node current = head; current != null; current = current.next) {
+                sb.setCharAt(--pos, (char) ('0' + current.data));
+            }
+            return out;
         }
+        char[] chars = new char[length];
+        getChars(chars, 0);
+        out.append(CharBuffer.wrap(chars));
+        return out;
+    }
 
-        return sb.toString();
+    @Override
+    public String toString() {
+        // one pre-sized buffer, filled from the LSD end
+        char[] chars = new char[length];
+        getChars(chars, 0);
+        return new String(chars);
     }
 }
@@ -0,0 +1,197 @@
+package bignumber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Powers, factorials and binomial coefficients built from balanced products.
+ *
+ * factorial and binomial first factor the result into primes (Legendre's formula), then
+ * group the primes by the bits of their exponents: result = prod_k (P_k)^(2^k), where P_k is the
+ * product of the primes whose exponent has bit k set. Each P_k is a product tree, so every large
+ * multiply has operands of about the same size, and the trees run in parallel on a ForkJoinPool.
+ * The prime powers are then combined with squarings, top bit first.
+ */
+public final class BigNumberMath {
+    // factor ranges at most this long are multiplied sequentially
+    static final int LEAF_SIZE = 256;
+
+    private BigNumberMath() {}
+
+    /**
+     * base^exponent by repeated squaring (0^0 is 1)
+     * @throws IllegalArgumentException if base is null or exponent is negative
+     */
+    public static BigNumber pow(BigNumber base, int exponent) {
+        if (base == null) {
+            throw new IllegalArgumentException("base must not be null");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must not be negative");
+        }
+        return toBigNumber(LimbArithmetic.pow(LimbArithmetic.toLimbs(base), exponent));
+    }
+
+    /** n! on the common pool. */
+    public static BigNumber factorial(int n) {
+        return factorial(n, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * n! on the given pool
+     * @throws IllegalArgumentException if n is negative
+     */
+    public static BigNumber factorial(int n, ForkJoinPool pool) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+        int[] primes = primesUpTo(n);
+        int[] exponents = new int[primes.length];
+        for (int i = 0; i < primes.length; i++) {
+            exponents[i] = legendre(n, primes[i]);
+        }
+        return toBigNumber(primeProduct(primes, exponents, pool));
+    }
+
+    /** n choose k on the common pool. */
+    public static BigNumber binomial(int n, int k) {
+        return binomial(n, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * n choose k on the given pool; 0 when k > n
+     * @throws IllegalArgumentException if n or k is negative
+     */
+    public static BigNumber binomial(int n, int k, ForkJoinPool pool) {
+        if (n < 0 || k < 0) {
+            throw new IllegalArgumentException("n and k must not be negative");
+        }
+        if (k > n) {
+            return new LimbBigNumberImpl();
+        }
+        // the exponent of p in n! / (k! (n-k)!)
+        int[] primes = primesUpTo(n);
+        int[] exponents = new int[primes.length];
+        for (int i = 0; i < primes.length; i++) {
+            exponents[i] = legendre(n, primes[i]) - legendre(k, primes[i]) - legendre(n - k, primes[i]);
+        }
+        return toBigNumber(primeProduct(primes, exponents, pool));
+    }
+
+    /* ------------------ helpers ------------------ */
+
+    private static BigNumber toBigNumber(int[] limbs) {
+        return new LimbBigNumberImpl(limbs, limbs.length);
+    }
+
+    // the exponent of prime p in n!: n/p + n/p^2 + ...
+    static int legendre(int n, int p) {
+        int e = 0;
+        for (long q = p; q <= n; q *= p) {
+            e += (int) (n / q);
+        }
+        return e;
+    }
+
+    // sieve of Eratosthenes over the odd numbers
+    static int[] primesUpTo(int n) {
+        if (n < 2) return new int[0];
+        boolean[] composite = new boolean[n / 2 + 1]; // index i stands for 2i + 1
+        List<Integer> found = new ArrayList<>();
+        found.add(2);
+        for (int i = 1; 2 * i + 1 <= n; i++) {
+            if (composite[i]) continue;
+            int p = 2 * i + 1;
+            found.add(p);
+            for (long j = (long) p * p; j <= n; j += 2L * p) {
+                composite[(int) (j / 2)] = true;
+            }
+        }
+        int[] primes = new int[found.size()];
+        for (int i = 0; i < primes.length; i++) {
+            primes[i] = found.get(i);
+        }
+        return primes;
+    }
+
+    // prod primes[i]^exponents[i], grouped by exponent bits: ((P_top)^2 * P_top-1)^2 ... * P_0
+    private static int[] primeProduct(int[] primes, int[] exponents, ForkJoinPool pool) {
+        int maxExponent = 0;
+        for (int e : exponents) {
+            maxExponent = Math.max(maxExponent, e);
+        }
+        if (maxExponent == 0) return LimbArithmetic.ONE;
+        int bits = 32 - Integer.numberOfLeadingZeros(maxExponent);
+
+        // one product tree per bit, all submitted before any is joined
+        List<ProductTask> levels = new ArrayList<>();
+        for (int bit = 0; bit < bits; bit++) {
+            int[] factors = new int[primes.length];
+            int count = 0;
+            for (int i = 0; i < primes.length; i++) {
+                if ((exponents[i] >>> bit & 1) != 0) {
+                    factors[count++] = primes[i];
+                }
+            }
+            levels.add(new ProductTask(Arrays.copyOf(factors, count), 0, count));
+        }
+        return pool.invoke(new RecursiveTask<int[]>() {
+            @Override
+            protected int[] compute() {
+                // fork every tree, then square in the top levels while the lower ones still run
+                for (ProductTask level : levels) {
+                    level.fork();
+                }
+                int[] result = levels.get(bits - 1).join();
+                for (int bit = bits - 2; bit >= 0; bit--) {
+                    result = LimbArithmetic.multiply(LimbArithmetic.multiply(result, result), levels.get(bit).join());
+                }
+                return result;
+            }
+        });
+    }
+
+    /** Product of factors[from, to) as a balanced tree; the empty product is 1. */
+    private static final class ProductTask extends RecursiveTask<int[]> {
+        private final int[] factors;
+        private final int from;
+        private final int to;
+
+        ProductTask(int[] factors, int from, int to) {
+            this.factors = factors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= LEAF_SIZE) {
+                // pack neighbouring factors into one word while the word stays below BASE
+                int[] product = LimbArithmetic.ONE;
+                long word = 1;
+                for (int i = from; i < to; i++) {
+                    if (factors[i] >= LimbArithmetic.BASE) {
+                        // only primes above 10^9 need two limbs
+                        product = LimbArithmetic.multiply(product,
+                                new int[] {factors[i] % LimbArithmetic.BASE, factors[i] / LimbArithmetic.BASE});
+                        continue;
+                    }
+                    if (word * factors[i] >= LimbArithmetic.BASE) {
+                        product = LimbArithmetic.multiplySmall(product, (int) word);
+                        word = 1;
+                    }
+                    word *= factors[i];
+                }
+                return LimbArithmetic.multiplySmall(product, (int) word);
+            }
+            int mid = (from + to) >>> 1;
+            ProductTask left = new ProductTask(factors, from, mid);
+            left.fork();
+            int[] right = new ProductTask(factors, mid, to).compute();
+            return LimbArithmetic.multiply(left.join(), right);
+        }
+    }
+}
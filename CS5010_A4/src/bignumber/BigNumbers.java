@@ -0,0 +1,68 @@
+package bignumber;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Helpers shared by the BigNumber implementations that only rely on the interface,
+ * so that different representations can be mixed.
+ */
+final class BigNumbers {
+    private BigNumbers() {}
+
+    /**
+     * Compare two canonical numbers of any implementation in one LSD-first pass:
+     * the longer number wins, otherwise the most significant differing digit decides.
+     */
+    static int compareByDigits(BigNumber a, BigNumber b) {
+        if (a.length() != b.length()) {
+            return a.length() > b.length() ? 1 : -1;
+        }
+        PrimitiveIterator.OfInt x = a.digits();
+        PrimitiveIterator.OfInt y = b.digits();
+        int result = 0;
+        while (x.hasNext()) {
+            int dx = x.nextInt();
+            int dy = y.nextInt();
+            // later positions are more significant, so they overwrite earlier differences
+            if (dx != dy) {result = dx > dy ? 1 : -1;}
+        }
+        return result;
+    }
+
+    // the hash of a number is sum(digit_i * HASH_MULTIPLIER^i) mod 2^32
+    static final int HASH_MULTIPLIER = 31;
+    // HASH_MULTIPLIER^-1 mod 2^32, which exists because the multiplier is odd
+    static final int HASH_INVERSE = inverse(HASH_MULTIPLIER);
+
+    // Newton's iteration x = x(2 - ax) doubles the number of correct low bits each step
+    private static int inverse(int a) {
+        int x = a; // correct to 3 bits for any odd a
+        for (int i = 0; i < 4; i++) {
+            x *= 2 - a * x;
+        }
+        return x;
+    }
+
+    /** base^k mod 2^32 for k >= 0, by repeated squaring. */
+    static int hashPow(int base, int k) {
+        int result = 1;
+        while (k > 0) {
+            if ((k & 1) != 0) {result *= base;}
+            base *= base;
+            k >>>= 1;
+        }
+        return result;
+    }
+
+    /** The hash defined by BigNumber.hashCode(), computed in one pass over the digit cursor. */
+    static int hashOf(BigNumber n) {
+        PrimitiveIterator.OfInt digits = n.digits();
+        int hash = 0;
+        int power = 1;
+        while (digits.hasNext()) {
+            hash += digits.nextInt() * power;
+            power *= HASH_MULTIPLIER;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,179 @@
+package bignumber;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bulk conversion between ASCII decimal digits and base 10^9 limbs.
+ * Eight digits are validated and converted at once by treating them as one little-endian long
+ * (SWAR: SIMD within a register), instead of one char at a time.
+ */
+final class DecimalCodec {
+    private static final int DIGITS_PER_LIMB = LimbBigNumberImpl.DIGITS_PER_LIMB;
+
+    // reads 8 bytes of a byte[] as one long, first byte in the lowest bits
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // "00" "01" ... "99" as ASCII bytes, for writing two digits per lookup
+    private static final byte[] DIGIT_PAIRS = new byte[200];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[2 * i] = (byte) ('0' + i / 10);
+            DIGIT_PAIRS[2 * i + 1] = (byte) ('0' + i % 10);
+        }
+    }
+
+    private DecimalCodec() {}
+
+    /* ------------------ parsing ------------------ */
+
+    /** True iff all 8 bytes of word are ASCII '0'..'9'. */
+    static boolean isEightDigits(long word) {
+        // high nibbles must all be 3, and adding 6 to each byte must not carry out of the low nibble
+        return (word & 0xF0F0F0F0F0F0F0F0L) == 0x3030303030303030L
+                && ((word + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) == 0x3030303030303030L;
+    }
+
+    /** Value of 8 ASCII digits packed little-endian in word (first digit most significant). */
+    static int parseEightDigits(long word) {
+        // combine neighbours into 2-digit, then 4-digit, then the 8-digit value
+        long val = word & 0x0F0F0F0F0F0F0F0FL;
+        val = (val * 2561) >>> 8;
+        val = ((val & 0x00FF00FF00FF00FFL) * 6553601) >>> 16;
+        return (int) (((val & 0x0000FFFF0000FFFFL) * 42949672960001L) >>> 32);
+    }
+
+    /**
+     * ASCII bytes of s after checking, 8 chars at a time, that every char is '0'..'9'.
+     * @throws IllegalArgumentException naming the first invalid character
+     */
+    static byte[] validatedAscii(String s) {
+        // Latin-1 strings convert with a plain copy. Any other char becomes the replacement byte '?'
+        // (a surrogate pair becomes a single '?'), so such input is only rejected because '?' then
+        // fails the digit check; a length mismatch means surrogates, which are searched char by char
+        byte[] ascii = s.getBytes(StandardCharsets.ISO_8859_1);
+        int bad;
+        if (ascii.length == s.length()) {
+            bad = firstNonDigit(ascii, 0, ascii.length);
+        } else {
+            bad = 0;
+            while (s.charAt(bad) >= '0' && s.charAt(bad) <= '9') {bad++;}
+        }
+        if (bad >= 0) {
+            throw new IllegalArgumentException("invalid character: " + s.charAt(bad));
+        }
+        return ascii;
+    }
+
+    /** Index of the first byte in ascii[from, to) that is not '0'..'9', or -1 if all are digits. */
+    static int firstNonDigit(byte[] ascii, int from, int to) {
+        int i = from;
+        for (; i + 8 <= to; i += 8) {
+            if (!isEightDigits((long) LONG_VIEW.get(ascii, i))) break;
+        }
+        for (; i < to; i++) {
+            if (ascii[i] < '0' || ascii[i] > '9') return i;
+        }
+        return -1;
+    }
+
+    /** Same as firstNonDigit(byte[], int, int) for a buffer, e.g. a mapped file; absolute indexes. */
+    static int firstNonDigit(ByteBuffer ascii, int from, int to) {
+        ByteBuffer buf = ascii.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int i = from;
+        for (; i + 8 <= to; i += 8) {
+            if (!isEightDigits(buf.getLong(i))) break;
+        }
+        for (; i < to; i++) {
+            byte b = buf.get(i);
+            if (b < '0' || b > '9') return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Limbs (least-significant first) of the digits ascii[from, to), which must all be '0'..'9'
+     * and must not start with '0' unless it is the single digit 0.
+     */
+    static int[] parseLimbs(byte[] ascii, int from, int to) {
+        int digits = to - from;
+        int limbCount = (digits + DIGITS_PER_LIMB - 1) / DIGITS_PER_LIMB;
+        int[] limbs = new int[limbCount];
+        int end = to;
+        int i = 0;
+        // full limbs from the right: one scalar digit followed by one 8-digit SWAR word
+        for (; end - from >= DIGITS_PER_LIMB; i++, end -= DIGITS_PER_LIMB) {
+            long word = (long) LONG_VIEW.get(ascii, end - 8);
+            limbs[i] = (ascii[end - DIGITS_PER_LIMB] - '0') * 100_000_000 + parseEightDigits(word);
+        }
+        // the leftmost, shorter limb
+        if (end > from) {
+            int limb = 0;
+            for (int j = from; j < end; j++) {
+                limb = limb * 10 + (ascii[j] - '0');
+            }
+            limbs[i] = limb;
+        }
+        return limbs;
+    }
+
+    /** Same as parseLimbs(byte[], int, int) for a buffer, e.g. a mapped file; absolute indexes. */
+    static int[] parseLimbs(ByteBuffer ascii, int from, int to) {
+        ByteBuffer buf = ascii.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int digits = to - from;
+        int limbCount = (digits + DIGITS_PER_LIMB - 1) / DIGITS_PER_LIMB;
+        int[] limbs = new int[limbCount];
+        int end = to;
+        int i = 0;
+        for (; end - from >= DIGITS_PER_LIMB; i++, end -= DIGITS_PER_LIMB) {
+            limbs[i] = (buf.get(end - DIGITS_PER_LIMB) - '0') * 100_000_000 + parseEightDigits(buf.getLong(end - 8));
+        }
+        if (end > from) {
+            int limb = 0;
+            for (int j = from; j < end; j++) {
+                limb = limb * 10 + (buf.get(j) - '0');
+            }
+            limbs[i] = limb;
+        }
+        return limbs;
+    }
+
+    /* ------------------ formatting ------------------ */
+
+    /** Write limb as exactly 9 ASCII digits (with leading zeros) ending just before end. */
+    static void formatLimb(int limb, byte[] dst, int end) {
+        // four digit pairs from the right, then the single leading digit
+        for (int k = 0; k < 4; k++) {
+            int pair = limb % 100;
+            limb /= 100;
+            dst[--end] = DIGIT_PAIRS[2 * pair + 1];
+            dst[--end] = DIGIT_PAIRS[2 * pair];
+        }
+        dst[end - 1] = (byte) ('0' + limb);
+    }
+
+    /**
+     * Write the canonical decimal digits of limbs[0, size) into dst starting at offset.
+     * @return the number of bytes written
+     */
+    static int formatLimbs(int[] limbs, int size, byte[] dst, int offset) {
+        int top = limbs[size - 1];
+        int topDigits = LimbBigNumberImpl.digitCount(top);
+        int total = topDigits + (size - 1) * DIGITS_PER_LIMB;
+        int end = offset + total;
+        for (int i = 0; i < size - 1; i++, end -= DIGITS_PER_LIMB) {
+            formatLimb(limbs[i], dst, end);
+        }
+        // the top limb without its leading zeros
+        for (int j = 0; j < topDigits; j++) {
+            dst[--end] = (byte) ('0' + top % 10);
+            top /= 10;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,490 @@
+package bignumber;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Magnitude arithmetic on base 10^9 limb arrays, shared by every BigNumber implementation.
+ * Arrays are least-significant limb first and trimmed (no high zero limbs); zero is the empty array.
+ */
+final class LimbArithmetic {
+    static final int BASE = LimbBigNumberImpl.BASE;
+    static final int[] ZERO = new int[0];
+    static final int[] ONE = {1};
+
+    // below this many limbs (shorter operand) schoolbook beats Karatsuba
+    static final int KARATSUBA_THRESHOLD = 120;
+    // from this many limbs (shorter operand) Toom-3 beats Karatsuba
+    static final int TOOM3_THRESHOLD = 400;
+    // from this many limbs (divisor and quotient) Newton-reciprocal division beats Knuth D
+    static final int NEWTON_THRESHOLD = 400;
+
+    private LimbArithmetic() {}
+
+    /* ------------------ conversions ------------------ */
+
+    /** Limbs of any BigNumber, read through its digit cursor (or copied directly for limb and off-heap numbers). */
+    static int[] toLimbs(BigNumber n) {
+        if (n instanceof LimbBigNumberImpl) {
+            return ((LimbBigNumberImpl) n).toLimbArray();
+        }
+        if (n instanceof OffHeapBigNumberImpl) {
+            return ((OffHeapBigNumberImpl) n).toLimbArray();
+        }
+        int[] limbs = new int[(n.length() + LimbBigNumberImpl.DIGITS_PER_LIMB - 1) / LimbBigNumberImpl.DIGITS_PER_LIMB];
+        PrimitiveIterator.OfInt digits = n.digits();
+        for (int i = 0; i < limbs.length; i++) {
+            limbs[i] = LimbBigNumberImpl.nextLimb(digits);
+        }
+        return trim(limbs, limbs.length);
+    }
+
+    /** First len limbs of a, without high zero limbs (may share a when nothing is cut). */
+    static int[] trim(int[] a, int len) {
+        while (len > 0 && a[len - 1] == 0) {len--;}
+        return len == a.length ? a : Arrays.copyOf(a, len);
+    }
+
+    /** Trimmed copy of a[from, to), clamped to the length of a. */
+    static int[] slice(int[] a, int from, int to) {
+        to = Math.min(to, a.length);
+        if (from >= to) return ZERO;
+        return trim(Arrays.copyOfRange(a, from, to), to - from);
+    }
+
+    /* ------------------ linear operations ------------------ */
+
+    static int compare(int[] a, int[] b) {
+        if (a.length != b.length) {
+            return a.length > b.length ? 1 : -1;
+        }
+        for (int i = a.length - 1; i >= 0; i--) {
+            if (a[i] != b[i]) {
+                return a[i] > b[i] ? 1 : -1;
+            }
+        }
+        return 0;
+    }
+
+    static int[] add(int[] a, int[] b) {
+        if (a.length < b.length) {
+            int[] t = a;
+            a = b;
+            b = t;
+        }
+        int[] result = new int[a.length + 1];
+        int carry = 0;
+        for (int i = 0; i < a.length; i++) {
+            int sum = a[i] + (i < b.length ? b[i] : 0) + carry;
+            if (sum >= BASE) {
+                result[i] = sum - BASE;
+                carry = 1;
+            } else {
+                result[i] = sum;
+                carry = 0;
+            }
+        }
+        result[a.length] = carry;
+        return trim(result, result.length);
+    }
+
+    /** a - b, requires a >= b. */
+    static int[] subtract(int[] a, int[] b) {
+        int[] result = new int[a.length];
+        int borrow = 0;
+        for (int i = 0; i < a.length; i++) {
+            int diff = a[i] - (i < b.length ? b[i] : 0) - borrow;
+            if (diff < 0) {
+                result[i] = diff + BASE;
+                borrow = 1;
+            } else {
+                result[i] = diff;
+                borrow = 0;
+            }
+        }
+        if (borrow != 0) {
+            throw new IllegalArgumentException("subtraction would be negative");
+        }
+        return trim(result, result.length);
+    }
+
+    /** target += a * BASE^offset in place; target must be large enough to absorb the carry. */
+    static void addInto(int[] target, int[] a, int offset) {
+        int carry = 0;
+        int i = 0;
+        for (; i < a.length; i++) {
+            int sum = target[offset + i] + a[i] + carry;
+            if (sum >= BASE) {
+                target[offset + i] = sum - BASE;
+                carry = 1;
+            } else {
+                target[offset + i] = sum;
+                carry = 0;
+            }
+        }
+        for (int j = offset + i; carry != 0; j++) {
+            int sum = target[j] + 1;
+            if (sum == BASE) {
+                target[j] = 0;
+            } else {
+                target[j] = sum;
+                carry = 0;
+            }
+        }
+    }
+
+    /** a * m for 0 <= m < BASE. */
+    static int[] multiplySmall(int[] a, int m) {
+        if (a.length == 0 || m == 0) return ZERO;
+        int[] result = new int[a.length + 1];
+        long carry = 0;
+        for (int i = 0; i < a.length; i++) {
+            long t = (long) a[i] * m + carry;
+            result[i] = (int) (t % BASE);
+            carry = t / BASE;
+        }
+        result[a.length] = (int) carry;
+        return trim(result, result.length);
+    }
+
+    /** a / d for 0 < d < BASE, dropping the remainder. */
+    static int[] divideSmall(int[] a, int d) {
+        int[] result = new int[a.length];
+        long remainder = 0;
+        for (int i = a.length - 1; i >= 0; i--) {
+            long t = remainder * BASE + a[i];
+            result[i] = (int) (t / d);
+            remainder = t % d;
+        }
+        return trim(result, result.length);
+    }
+
+    /** a * BASE^k. */
+    static int[] shiftLimbs(int[] a, int k) {
+        if (a.length == 0 || k == 0) return a;
+        int[] result = new int[a.length + k];
+        System.arraycopy(a, 0, result, k, a.length);
+        return result;
+    }
+
+    /* ------------------ multiplication ------------------ */
+
+    /**
+     * Product of two magnitudes: schoolbook for short operands, Karatsuba and then Toom-3
+     * above their thresholds, and a chunked loop when one operand is much shorter than the other.
+     */
+    static int[] multiply(int[] a, int[] b) {
+        if (a.length < b.length) {
+            int[] t = a;
+            a = b;
+            b = t;
+        }
+        // from here on a is the longer operand
+        if (b.length == 0) return ZERO;
+        if (b.length < KARATSUBA_THRESHOLD) return schoolbook(a, b);
+
+        // unbalanced: multiply b by chunks of a the size of b, so the fast kernels see square inputs
+        if (2 * b.length <= a.length) {
+            int[] result = new int[a.length + b.length];
+            for (int from = 0; from < a.length; from += b.length) {
+                addInto(result, multiply(slice(a, from, from + b.length), b), from);
+            }
+            return trim(result, result.length);
+        }
+
+        return b.length < TOOM3_THRESHOLD ? karatsuba(a, b) : toom3(a, b);
+    }
+
+    /** base^e for e >= 0, left to right over the bits of e: square, and multiply by base for every set bit. */
+    static int[] pow(int[] base, int e) {
+        if (e == 0) return ONE;
+        int[] result = base;
+        for (int bit = 30 - Integer.numberOfLeadingZeros(e); bit >= 0; bit--) {
+            result = multiply(result, result);
+            if ((e >>> bit & 1) != 0) {
+                result = multiply(result, base);
+            }
+        }
+        return result;
+    }
+
+    static int[] schoolbook(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) return ZERO;
+        int[] result = new int[a.length + b.length];
+        for (int i = 0; i < a.length; i++) {
+            long ai = a[i];
+            if (ai == 0) continue;
+            long carry = 0;
+            for (int j = 0; j < b.length; j++) {
+                // < 10^18 + 2 * 10^9, fits in a long
+                long t = ai * b[j] + result[i + j] + carry;
+                result[i + j] = (int) (t % BASE);
+                carry = t / BASE;
+            }
+            result[i + b.length] = (int) carry;
+        }
+        return trim(result, result.length);
+    }
+
+    // (a1 B^h + a0)(b1 B^h + b0) = z2 B^2h + ((a0 + a1)(b0 + b1) - z2 - z0) B^h + z0
+    private static int[] karatsuba(int[] a, int[] b) {
+        int half = (Math.max(a.length, b.length) + 1) / 2;
+        int[] a0 = slice(a, 0, half);
+        int[] a1 = slice(a, half, a.length);
+        int[] b0 = slice(b, 0, half);
+        int[] b1 = slice(b, half, b.length);
+
+        int[] z0 = multiply(a0, b0);
+        int[] z2 = multiply(a1, b1);
+        int[] z1 = subtract(subtract(multiply(add(a0, a1), add(b0, b1)), z0), z2);
+
+        int[] result = new int[a.length + b.length + 1];
+        addInto(result, z0, 0);
+        addInto(result, z1, half);
+        addInto(result, z2, 2 * half);
+        return trim(result, result.length);
+    }
+
+    // Toom-3 with evaluation points 0, 1, -1, -2, infinity and Bodrato's interpolation sequence
+    private static int[] toom3(int[] a, int[] b) {
+        int k = (Math.max(a.length, b.length) + 2) / 3;
+        int[] a0 = slice(a, 0, k);
+        int[] a1 = slice(a, k, 2 * k);
+        int[] a2 = slice(a, 2 * k, a.length);
+        int[] b0 = slice(b, 0, k);
+        int[] b1 = slice(b, k, 2 * k);
+        int[] b2 = slice(b, 2 * k, b.length);
+
+        // evaluate both polynomials
+        int[] pa = add(a0, a2);
+        int[] pb = add(b0, b2);
+        int[] a1p = add(pa, a1);                                     // a(1)
+        int[] b1p = add(pb, b1);                                     // b(1)
+        Signed am1 = Signed.of(pa).minus(Signed.of(a1));             // a(-1)
+        Signed bm1 = Signed.of(pb).minus(Signed.of(b1));             // b(-1)
+        Signed am2 = am1.plus(Signed.of(a2)).times(2).minus(Signed.of(a0)); // a(-2)
+        Signed bm2 = bm1.plus(Signed.of(b2)).times(2).minus(Signed.of(b0)); // b(-2)
+
+        // pointwise products
+        Signed r0 = Signed.of(multiply(a0, b0));
+        Signed r1 = Signed.of(multiply(a1p, b1p));
+        Signed rm1 = new Signed(am1.negative != bm1.negative, multiply(am1.magnitude, bm1.magnitude));
+        Signed rm2 = new Signed(am2.negative != bm2.negative, multiply(am2.magnitude, bm2.magnitude));
+        Signed rInf = Signed.of(multiply(a2, b2));
+
+        // interpolate the five coefficients
+        Signed c3 = rm2.minus(r1).divideExact(3);
+        Signed c1 = r1.minus(rm1).divideExact(2);
+        Signed c2 = rm1.minus(r0);
+        c3 = c2.minus(c3).divideExact(2).plus(rInf).plus(rInf);
+        c2 = c2.plus(c1).minus(rInf);
+        c1 = c1.minus(c3);
+
+        int[] result = new int[a.length + b.length + 1];
+        addInto(result, r0.magnitude, 0);
+        addInto(result, c1.toMagnitude(), k);
+        addInto(result, c2.toMagnitude(), 2 * k);
+        addInto(result, c3.toMagnitude(), 3 * k);
+        addInto(result, rInf.magnitude, 4 * k);
+        return trim(result, result.length);
+    }
+
+    /* ------------------ division ------------------ */
+
+    /**
+     * {quotient, remainder} of u / v: single-limb divisors use a short division, moderate sizes
+     * Knuth's Algorithm D, and large divisors with large quotients a Newton reciprocal.
+     * @throws IllegalArgumentException if v is zero
+     */
+    static int[][] divMod(int[] u, int[] v) {
+        if (v.length == 0) {
+            throw new IllegalArgumentException("Division by zero");
+        }
+        if (compare(u, v) < 0) {
+            return new int[][] {ZERO, u};
+        }
+        if (v.length == 1) {
+            int[] q = divideSmall(u, v[0]);
+            return new int[][] {q, subtract(u, multiplySmall(q, v[0]))};
+        }
+        if (v.length < NEWTON_THRESHOLD || u.length - v.length < NEWTON_THRESHOLD) {
+            return knuthDivide(u, v);
+        }
+        return newtonDivide(u, v);
+    }
+
+    // Knuth, TAOCP vol. 2, 4.3.1, Algorithm D with base 10^9 and v.length >= 2
+    private static int[][] knuthDivide(int[] u, int[] v) {
+        int n = v.length;
+        int m = u.length - n;
+
+        // D1: normalize so the top divisor limb is at least BASE / 2
+        int d = BASE / (v[n - 1] + 1);
+        int[] vn = Arrays.copyOf(multiplySmall(v, d), n);
+        int[] un = Arrays.copyOf(multiplySmall(u, d), u.length + 1);
+        int[] q = new int[m + 1];
+
+        long vTop = vn[n - 1];
+        long vNext = vn[n - 2];
+        for (int j = m; j >= 0; j--) {
+            // D3: estimate qhat from the top two limbs, then refine with the third
+            long num = (long) un[j + n] * BASE + un[j + n - 1];
+            long qhat = num / vTop;
+            long rhat = num % vTop;
+            while (qhat >= BASE || qhat * vNext > rhat * BASE + un[j + n - 2]) {
+                qhat--;
+                rhat += vTop;
+                if (rhat >= BASE) break;
+            }
+
+            // D4: multiply and subtract qhat * vn from un[j .. j + n]
+            long carry = 0;
+            long borrow = 0;
+            for (int i = 0; i < n; i++) {
+                long p = qhat * vn[i] + carry;
+                carry = p / BASE;
+                long t = un[i + j] - (p % BASE) - borrow;
+                if (t < 0) {
+                    un[i + j] = (int) (t + BASE);
+                    borrow = 1;
+                } else {
+                    un[i + j] = (int) t;
+                    borrow = 0;
+                }
+            }
+            long top = un[j + n] - carry - borrow;
+
+            // D6: qhat was one too large (rare), add the divisor back
+            if (top < 0) {
+                qhat--;
+                int c = 0;
+                for (int i = 0; i < n; i++) {
+                    int sum = un[i + j] + vn[i] + c;
+                    if (sum >= BASE) {
+                        un[i + j] = sum - BASE;
+                        c = 1;
+                    } else {
+                        un[i + j] = sum;
+                        c = 0;
+                    }
+                }
+                top += c;   // the final carry cancels the borrow out of the top limb
+            }
+            un[j + n] = (int) top;
+            q[j] = (int) qhat;
+        }
+
+        // D8: unnormalize the remainder
+        int[] r = divideSmall(trim(un, n), d);
+        return new int[][] {trim(q, q.length), r};
+    }
+
+    // u / v with a Newton reciprocal of v, dividing u in chunks of v.length limbs from the top
+    private static int[][] newtonDivide(int[] u, int[] v) {
+        int n = v.length;
+        int[] reciprocal = reciprocal(v);
+
+        int blocks = (u.length + n - 1) / n;
+        int[] q = new int[blocks * n];
+        int[] r = ZERO;
+        for (int i = blocks - 1; i >= 0; i--) {
+            // r < v, so r * B^n + block < v * B^n <= B^2n: one reciprocal step per block
+            int[] current = add(shiftLimbs(r, n), slice(u, i * n, (i + 1) * n));
+            int[][] step = divideWithReciprocal(current, v, reciprocal);
+            System.arraycopy(step[0], 0, q, i * n, step[0].length);
+            r = step[1];
+        }
+        return new int[][] {trim(q, q.length), r};
+    }
+
+    // u < B^2n where n = v.length, and reciprocal is within a few units of B^2n / v
+    private static int[][] divideWithReciprocal(int[] u, int[] v, int[] reciprocal) {
+        int n = v.length;
+        // only the top n + 1 limbs of u matter for the estimate; it is off by at most a few units
+        int[] q = slice(multiply(slice(u, n - 1, Integer.MAX_VALUE), reciprocal), n + 1, Integer.MAX_VALUE);
+        int[] qv = multiply(q, v);
+        while (compare(qv, u) > 0) {
+            q = subtract(q, ONE);
+            qv = subtract(qv, v);
+        }
+        int[] r = subtract(u, qv);
+        while (compare(r, v) >= 0) {
+            q = add(q, ONE);
+            r = subtract(r, v);
+        }
+        return new int[][] {q, r};
+    }
+
+    /**
+     * B^2n / v for an n-limb v, within a few units: precision doubling with one Newton step per
+     * level, starting from an exact Knuth division below NEWTON_THRESHOLD limbs.
+     */
+    static int[] reciprocal(int[] v) {
+        int n = v.length;
+        if (n < NEWTON_THRESHOLD) {
+            return knuthDivide(shiftLimbs(ONE, 2 * n), v)[0];
+        }
+
+        // from the top k limbs: B^2n / v ~ x0 = y * B^(n - k) with y ~ B^2k / vTop
+        int k = n / 2 + 2;
+        int[] y = reciprocal(slice(v, n - k, n));
+
+        // Newton step x0 + x0 * (B^2n - v * x0) / B^2n, with every term divided through by B^(n - k);
+        // the low k - 2 limbs of the error move the correction by less than one unit, so drop them
+        int[] vy = multiply(v, y);
+        int[] power = shiftLimbs(ONE, n + k);
+        int[] x0 = shiftLimbs(y, n - k);
+        if (compare(vy, power) <= 0) {
+            int[] error = slice(subtract(power, vy), k - 2, Integer.MAX_VALUE);
+            return add(x0, slice(multiply(y, error), k + 2, Integer.MAX_VALUE));
+        }
+        int[] error = slice(subtract(vy, power), k - 2, Integer.MAX_VALUE);
+        int[] correction = slice(multiply(y, error), k + 2, Integer.MAX_VALUE);
+        return subtract(x0, add(correction, ONE));
+    }
+
+    /** Sign-magnitude value for the intermediate steps of Toom-3 interpolation. */
+    private static final class Signed {
+        private final boolean negative;
+        private final int[] magnitude;
+
+        private Signed(boolean negative, int[] magnitude) {
+            this.negative = negative && magnitude.length > 0;
+            this.magnitude = magnitude;
+        }
+
+        static Signed of(int[] magnitude) {
+            return new Signed(false, magnitude);
+        }
+
+        Signed plus(Signed other) {
+            if (negative == other.negative) {
+                return new Signed(negative, add(magnitude, other.magnitude));
+            }
+            int cmp = compare(magnitude, other.magnitude);
+            if (cmp >= 0) {
+                return new Signed(negative, subtract(magnitude, other.magnitude));
+            }
+            return new Signed(other.negative, subtract(other.magnitude, magnitude));
+        }
+
+        Signed minus(Signed other) {
+            return plus(new Signed(!other.negative, other.magnitude));
+        }
+
+        Signed times(int m) {
+            return new Signed(negative, multiplySmall(magnitude, m));
+        }
+
+        Signed divideExact(int d) {
+            return new Signed(negative, divideSmall(magnitude, d));
+        }
+
+        int[] toMagnitude() {
+            if (negative) {
+                throw new IllegalStateException("Toom-3 coefficient must not be negative");
+            }
+            return magnitude;
+        }
+    }
+}
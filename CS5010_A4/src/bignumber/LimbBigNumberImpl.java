@@ -0,0 +1,425 @@
+package bignumber;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * array implementation of BigNumber, packing 9 decimal digits into each int limb (base 10^9).
+ * For example, the number 12345678901 is stored as [345678901, 12] (least-significant limb first)
+ */
+public class LimbBigNumberImpl implements BigNumber {
+    static final int BASE = 1_000_000_000;
+    static final int DIGITS_PER_LIMB = 9;
+
+    // POW10[i] == 10^i for 0 <= i <= 9
+    static final int[] POW10 = {
+            1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 1_000_000_000
+    };
+
+    // limbs[0] is the least-significant limb; only the first size entries are in use.
+    // canonical form: limbs[size - 1] != 0 unless the number is 0 (then size == 1)
+    private int[] limbs;
+    private int size;
+    private int length;
+    // cached hashCode(); once computed, the mutators keep it up to date instead of dropping it
+    private int hash;
+    private boolean hashValid;
+
+    // construct 0 as required to start with 0
+    public LimbBigNumberImpl() {
+        this.limbs = new int[1];
+        this.size = 1;
+        this.length = 1;
+    }
+
+    public LimbBigNumberImpl(String s) {
+        if (s == null || s.isEmpty()) {throw new IllegalArgumentException("null or empty string");}
+
+        // validate 8 digits per step, then convert 9 digits per limb (8 of them in one SWAR step)
+        byte[] ascii = DecimalCodec.validatedAscii(s);
+
+        // find the first non-zero digit
+        int nonZeroIndex = 0;
+        while (nonZeroIndex < ascii.length && ascii[nonZeroIndex] == '0') {nonZeroIndex++;}
+
+        // if all zeros, then construct a 0
+        if (nonZeroIndex == ascii.length) {
+            this.limbs = new int[1];
+            this.size = 1;
+            this.length = 1;
+            return;
+        }
+
+        this.limbs = DecimalCodec.parseLimbs(ascii, nonZeroIndex, ascii.length);
+        this.size = limbs.length;
+        this.length = ascii.length - nonZeroIndex;
+    }
+
+    /** Package-private ctor for internal use (takes ownership of limbs, trims high zero limbs). */
+    LimbBigNumberImpl(int[] limbs, int size) {
+        while (size > 1 && limbs[size - 1] == 0) {size--;}
+        if (size == 0) {
+            limbs = new int[1];
+            size = 1;
+        }
+        this.limbs = limbs;
+        this.size = size;
+        this.length = digitLength(limbs, size);
+    }
+
+    /** Trimmed copy of the limbs in the LimbArithmetic convention (zero is the empty array). */
+    int[] toLimbArray() {
+        return isZero() ? LimbArithmetic.ZERO : Arrays.copyOf(limbs, size);
+    }
+
+    // number of limbs in use, for package helpers that read limbs in place
+    int limbCount() {
+        return size;
+    }
+
+    // limb i, least-significant first; 0 <= i < limbCount()
+    int limbAt(int i) {
+        return limbs[i];
+    }
+
+    // the limbs in use as a heap segment over the backing array, valid until the next mutation
+    MemorySegment limbView() {
+        return MemorySegment.ofArray(limbs).asSlice(0, (long) size * Integer.BYTES);
+    }
+
+    /** Number of decimal digits of a canonical limb array. */
+    static int digitLength(int[] limbs, int size) {
+        return (size - 1) * DIGITS_PER_LIMB + digitCount(limbs[size - 1]);
+    }
+
+    // HASH_MULTIPLIER^9, the weight of a limb's hash relative to the limb below it
+    static final int LIMB_HASH_STEP = BigNumbers.hashPow(BigNumbers.HASH_MULTIPLIER, DIGITS_PER_LIMB);
+
+    /** The hash of the 9 digits of one limb, as if they were a number of their own. */
+    static int limbHash(int limb) {
+        int hash = 0;
+        int power = 1;
+        for (; limb != 0; limb /= 10) {
+            hash += limb % 10 * power;
+            power *= BigNumbers.HASH_MULTIPLIER;
+        }
+        return hash;
+    }
+
+    /** Number of decimal digits of a single limb (0 has one digit). */
+    static int digitCount(int limb) {
+        int n = 1;
+        while (n < DIGITS_PER_LIMB && limb >= POW10[n]) {n++;}
+        return n;
+    }
+
+    private boolean isZero() {
+        return size == 1 && limbs[0] == 0;
+    }
+
+    // set limb i, whose hash weight is weight, and move the cached hash along with it
+    private void replaceLimb(int i, int value, int weight) {
+        if (hashValid) {hash += (limbHash(value) - limbHash(limbs[i])) * weight;}
+        limbs[i] = value;
+    }
+
+    // grow the backing array geometrically so repeated shifts/carries are amortized O(1) per limb
+    private void ensureCapacity(int capacity) {
+        if (capacity > limbs.length) {
+            limbs = Arrays.copyOf(limbs, Math.max(capacity, limbs.length * 2));
+        }
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public BigNumber shiftLeft(int k) {
+        if (k == 0) return this;
+        if (k < 0) return shiftRight(-k);
+
+        if (isZero()) return this; // 0 * 10^k == 0
+        int wholeLimbs = k / DIGITS_PER_LIMB;
+        int rest = k % DIGITS_PER_LIMB;
+        ensureCapacity(size + wholeLimbs + 1);
+
+        // multiply by 10^rest, appending the final carry as a new limb
+        if (rest > 0) {
+            long carry = 0;
+            for (int i = 0; i < size; i++) {
+                long t = (long) limbs[i] * POW10[rest] + carry;
+                limbs[i] = (int) (t % BASE);
+                carry = t / BASE;
+            }
+            if (carry > 0) {
+                limbs[size++] = (int) carry;
+            }
+        }
+
+        // move every limb up by wholeLimbs and zero the vacated low limbs
+        if (wholeLimbs > 0) {
+            System.arraycopy(limbs, 0, limbs, wholeLimbs, size);
+            Arrays.fill(limbs, 0, wholeLimbs, 0);
+            size += wholeLimbs;
+        }
+        length += k;
+        // every digit moved up k positions: sum d_i P^(i+k) = P^k * sum d_i P^i
+        if (hashValid) {
+            hash *= BigNumbers.hashPow(BigNumbers.HASH_MULTIPLIER, k);
+        }
+        return this;
+    }
+
+    @Override
+    public BigNumber shiftRight(int k) {
+        if (k == 0) return this;
+        if (k < 0) return shiftLeft(-k);
+
+        if (isZero()) return this;        // digits / 10^k, 0 stays 0.
+        if (k >= length) {                // dropped all digits → reset to canonical 0
+            Arrays.fill(limbs, 0, size, 0);
+            size = 1;
+            length = 1;
+            hash = 0;
+            return this;
+        }
+        int wholeLimbs = k / DIGITS_PER_LIMB;
+        int rest = k % DIGITS_PER_LIMB;
+
+        if (hashValid) {
+            // take the k dropped digits out of the hash, a limb at a time, then move the rest down k positions
+            int gone = 0;
+            int power = 1;
+            for (int i = 0; i < wholeLimbs; i++) {
+                gone += limbHash(limbs[i]) * power;
+                power *= LIMB_HASH_STEP;
+            }
+            gone += limbHash(limbs[wholeLimbs] % POW10[rest]) * power;
+            hash = (hash - gone) * BigNumbers.hashPow(BigNumbers.HASH_INVERSE, k);
+        }
+
+        // drop the low wholeLimbs limbs
+        if (wholeLimbs > 0) {
+            System.arraycopy(limbs, wholeLimbs, limbs, 0, size - wholeLimbs);
+            Arrays.fill(limbs, size - wholeLimbs, size, 0);
+            size -= wholeLimbs;
+        }
+
+        // divide by 10^rest from the top limb down
+        if (rest > 0) {
+            long remainder = 0;
+            for (int i = size - 1; i >= 0; i--) {
+                long t = remainder * BASE + limbs[i];
+                limbs[i] = (int) (t / POW10[rest]);
+                remainder = t % POW10[rest];
+            }
+            if (size > 1 && limbs[size - 1] == 0) {size--;}
+        }
+        length -= k;
+        return this;
+    }
+
+    @Override
+    public BigNumber addDigit(int digit) {
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("Digit must be between 0 and 9");
+        }
+
+        // add to the least significant limb and propagate the carry; only the limbs it touches change the hash
+        int i = 0;
+        int weight = 1;
+        int value = limbs[0] + digit;
+        while (value >= BASE) {
+            replaceLimb(i, value - BASE, weight);
+            i++;
+            weight *= LIMB_HASH_STEP;
+            if (i == size) {
+                ensureCapacity(size + 1);
+                limbs[size++] = 0;
+            }
+            value = limbs[i] + 1;
+        }
+        replaceLimb(i, value, weight);
+        length = digitLength(limbs, size);
+        return this;
+    }
+
+    @Override
+    public int getDigitAt(int pos) {
+        if (pos < 0 || pos >= length) {
+            throw new IllegalArgumentException("Position out of bounds");
+        }
+        return limbs[pos / DIGITS_PER_LIMB] / POW10[pos % DIGITS_PER_LIMB] % 10;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt digits() {
+        return new PrimitiveIterator.OfInt() {
+            private int pos = 0;
+            private int limb = limbs[0];
+
+            @Override
+            public boolean hasNext() {
+                return pos < length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (pos >= length) {throw new NoSuchElementException();}
+                // peel digits off the current limb, loading the next one every 9 digits
+                if (pos % DIGITS_PER_LIMB == 0) {limb = limbs[pos / DIGITS_PER_LIMB];}
+                int digit = limb % 10;
+                limb /= 10;
+                pos++;
+                return digit;
+            }
+        };
+    }
+
+    /** Pack up to the next 9 digits of an LSD-first cursor into one limb. */
+    static int nextLimb(PrimitiveIterator.OfInt digits) {
+        int limb = 0;
+        for (int j = 0; j < DIGITS_PER_LIMB && digits.hasNext(); j++) {
+            limb += digits.nextInt() * POW10[j];
+        }
+        return limb;
+    }
+
+    @Override
+    public BigNumber copy() {
+        LimbBigNumberImpl copy = new LimbBigNumberImpl(Arrays.copyOf(limbs, size), size);
+        copy.hash = this.hash;
+        copy.hashValid = this.hashValid;
+        return copy;
+    }
+
+    @Override
+    public BigNumber add(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+
+        // same representation: read limbs directly; otherwise pack the other's digits as we go
+        LimbBigNumberImpl otherImpl = (other instanceof LimbBigNumberImpl) ? (LimbBigNumberImpl) other : null;
+        PrimitiveIterator.OfInt otherDigits = (otherImpl == null) ? other.digits() : null;
+        int otherSize = (otherImpl != null) ? otherImpl.size
+                : (other.length() + DIGITS_PER_LIMB - 1) / DIGITS_PER_LIMB;
+
+        int longer = Math.max(this.size, otherSize);
+        int[] result = new int[longer + 1];
+
+        // one linear pass over both operands with carry
+        int carry = 0;
+        for (int i = 0; i < longer; i++) {
+            int a = i < this.size ? this.limbs[i] : 0;
+            int b;
+            if (otherImpl != null) {
+                b = i < otherImpl.size ? otherImpl.limbs[i] : 0;
+            } else {
+                b = nextLimb(otherDigits);
+            }
+            int sum = a + b + carry;       // < 2 * 10^9 + 1, fits in an int
+            if (sum >= BASE) {
+                result[i] = sum - BASE;
+                carry = 1;
+            } else {
+                result[i] = sum;
+                carry = 0;
+            }
+        }
+        result[longer] = carry;
+
+        return new LimbBigNumberImpl(result, longer + 1);
+    }
+
+    @Override
+    public BigNumber multiply(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        int[] product = LimbArithmetic.multiply(toLimbArray(), LimbArithmetic.toLimbs(other));
+        return new LimbBigNumberImpl(product, product.length);
+    }
+
+    @Override
+    public BigNumber divide(BigNumber divisor) {
+        return divMod(divisor)[0];
+    }
+
+    @Override
+    public BigNumber remainder(BigNumber divisor) {
+        return divMod(divisor)[1];
+    }
+
+    @Override
+    public BigNumber[] divMod(BigNumber divisor) {
+        if (divisor == null) {
+            throw new IllegalArgumentException("divisor must not be null");
+        }
+        int[][] result = LimbArithmetic.divMod(toLimbArray(), LimbArithmetic.toLimbs(divisor));
+        return new BigNumber[] {
+                new LimbBigNumberImpl(result[0], result[0].length),
+                new LimbBigNumberImpl(result[1], result[1].length)
+        };
+    }
+
+    @Override
+    public int compareTo(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        if (!(other instanceof LimbBigNumberImpl)) {
+            return BigNumbers.compareByDigits(this, other);
+        }
+
+        LimbBigNumberImpl otherImpl = (LimbBigNumberImpl) other;
+
+        // canonical limbs: more limbs means a bigger number
+        if (this.size != otherImpl.size) {
+            return this.size > otherImpl.size ? 1 : -1;
+        }
+
+        // same size: compare limb by limb from the most significant one
+        for (int i = size - 1; i >= 0; i--) {
+            if (this.limbs[i] != otherImpl.limbs[i]) {
+                return this.limbs[i] > otherImpl.limbs[i] ? 1 : -1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof BigNumber && compareTo((BigNumber) o) == 0);
+    }
+
+    /** The hash defined on BigNumber, computed once a limb at a time and then maintained by the mutators. */
+    @Override
+    public int hashCode() {
+        if (!hashValid) {
+            int h = 0;
+            int power = 1;
+            for (int i = 0; i < size; i++) {
+                h += limbHash(limbs[i]) * power;
+                power *= LIMB_HASH_STEP;
+            }
+            hash = h;
+            hashValid = true;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        // pairs of digits per table lookup into a pre-sized Latin-1 buffer; the String constructor
+        // copies that buffer once more, so the digits are written twice in all
+        byte[] out = new byte[length];
+        DecimalCodec.formatLimbs(limbs, size, out, 0);
+        return new String(out, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,552 @@
+package bignumber;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * BigNumber whose base 10^9 limbs live outside the Java heap, in a MemorySegment.
+ * The layout is the one of LimbBigNumberImpl (least-significant limb first), so a number with
+ * tens of millions of digits costs the garbage collector a few dozen bytes instead of megabytes.
+ *
+ * A number made by a constructor, copyOf(BigNumber), copy() or one of the BigNumber operations owns
+ * a shared arena of its own, released by close(). Each of those results has to be closed as well,
+ * intermediates included: in a.multiply(b).add(c) the product is never closed and leaks.
+ * The overloads that take an Arena put their result in the caller's arena instead, so a whole chain
+ * of results is released at once by closing that arena; close() on such a number has no effect.
+ * Reading the digits of a released number throws IllegalStateException.
+ *
+ * add, the shifts, addDigit, compareTo, products with a short operand (below
+ * LimbArithmetic.KARATSUBA_THRESHOLD limbs) and division by a single limb work on the segments directly.
+ * Longer products and divisions still copy both operands into heap int[] arrays for the
+ * sub-quadratic LimbArithmetic kernels; only their result is moved off the heap.
+ */
+public class OffHeapBigNumberImpl implements BigNumber, AutoCloseable {
+    private static final int BASE = LimbBigNumberImpl.BASE;
+    private static final int DIGITS_PER_LIMB = LimbBigNumberImpl.DIGITS_PER_LIMB;
+    private static final int[] POW10 = LimbBigNumberImpl.POW10;
+    private static final ValueLayout.OfInt LIMB = ValueLayout.JAVA_INT;
+
+    // where the limbs are allocated; an owned arena is shared, so the number may be used and closed from any thread
+    private Arena arena;
+    // true if the arena belongs to this number alone and is closed by close()
+    private final boolean ownsArena;
+    // limb i is at index i; only the first size limbs are in use, the rest are 0
+    private MemorySegment limbs;
+    private long capacity;
+    private int size;
+    private int length;
+    // cached hashCode(); once computed, the mutators keep it up to date instead of dropping it
+    private int hash;
+    private boolean hashValid;
+
+    // construct 0 as required to start with 0
+    public OffHeapBigNumberImpl() {
+        this(null, 1);
+    }
+
+    public OffHeapBigNumberImpl(String s) {
+        if (s == null || s.isEmpty()) {throw new IllegalArgumentException("null or empty string");}
+        // the parse goes through the same SWAR codec as LimbBigNumberImpl, then moves off the heap
+        LimbBigNumberImpl parsed = new LimbBigNumberImpl(s);
+        this.ownsArena = true;
+        allocate(parsed.limbCount());
+        MemorySegment.copy(parsed.limbView(), 0, limbs, 0, (long) parsed.limbCount() * Integer.BYTES);
+        this.size = parsed.limbCount();
+        this.length = parsed.length();
+    }
+
+    // count zero limbs in arena, or in a shared arena of its own if arena is null; the value is 0 until trimmed
+    private OffHeapBigNumberImpl(Arena arena, long count) {
+        this.arena = arena;
+        this.ownsArena = arena == null;
+        allocate(count);
+        this.size = 1;
+        this.length = 1;
+    }
+
+    // take the first size limbs as the value, canonicalizing the size
+    private OffHeapBigNumberImpl trimmed(int size) {
+        while (size > 1 && limb(size - 1) == 0) {size--;}
+        this.size = Math.max(size, 1);
+        this.length = (this.size - 1) * DIGITS_PER_LIMB + LimbBigNumberImpl.digitCount(limb(this.size - 1));
+        return this;
+    }
+
+    /**
+     * Copy any BigNumber off the heap, reading its digit cursor so no heap copy is made.
+     * The result has to be closed.
+     */
+    public static OffHeapBigNumberImpl copyOf(BigNumber n) {
+        return copyInto(n, null);
+    }
+
+    /**
+     * Like copyOf(BigNumber), but the result lives in arena and is released when arena is closed.
+     * @throws IllegalArgumentException if n or arena is null
+     */
+    public static OffHeapBigNumberImpl copyOf(BigNumber n, Arena arena) {
+        return copyInto(n, requireArena(arena));
+    }
+
+    private static OffHeapBigNumberImpl copyInto(BigNumber n, Arena arena) {
+        if (n == null) {
+            throw new IllegalArgumentException("number must not be null");
+        }
+        int count = (n.length() + DIGITS_PER_LIMB - 1) / DIGITS_PER_LIMB;
+        OffHeapBigNumberImpl result = new OffHeapBigNumberImpl(arena, count);
+        PrimitiveIterator.OfInt digits = n.digits();
+        for (int i = 0; i < count; i++) {
+            result.setLimb(i, LimbBigNumberImpl.nextLimb(digits));
+        }
+        return result.trimmed(count);
+    }
+
+    /** Copy LimbArithmetic limbs (trimmed, zero is empty) off the heap, into arena or an arena of their own if null. */
+    static OffHeapBigNumberImpl fromLimbs(int[] source, Arena arena) {
+        int count = Math.max(source.length, 1);
+        OffHeapBigNumberImpl result = new OffHeapBigNumberImpl(arena, count);
+        MemorySegment.copy(source, 0, result.limbs, LIMB, 0, source.length);
+        return result.trimmed(count);
+    }
+
+    private static Arena requireArena(Arena arena) {
+        if (arena == null) {
+            throw new IllegalArgumentException("arena must not be null");
+        }
+        return arena;
+    }
+
+    // the limbs in use of any number as a segment: in place for off-heap and limb numbers, else via a heap copy
+    private static MemorySegment limbsOf(BigNumber n) {
+        if (n instanceof OffHeapBigNumberImpl) {
+            OffHeapBigNumberImpl offHeap = (OffHeapBigNumberImpl) n;
+            return offHeap.limbs.asSlice(0, (long) offHeap.size * Integer.BYTES);
+        }
+        if (n instanceof LimbBigNumberImpl) {
+            return ((LimbBigNumberImpl) n).limbView();
+        }
+        return MemorySegment.ofArray(LimbArithmetic.toLimbs(n));
+    }
+
+    /** Trimmed heap copy of the limbs in the LimbArithmetic convention (zero is the empty array). */
+    int[] toLimbArray() {
+        if (isZero()) return LimbArithmetic.ZERO;
+        int[] copy = new int[size];
+        MemorySegment.copy(limbs, LIMB, 0, copy, 0, size);
+        return copy;
+    }
+
+    /**
+     * Release the memory of this number; closing again has no effect.
+     * A number in a caller's arena is only released with that arena, so closing it has no effect either.
+     */
+    @Override
+    public void close() {
+        if (ownsArena && arena != null) {
+            arena.close();
+            arena = null;
+        }
+    }
+
+    // a fresh zeroed segment of count limbs, in a new shared arena if this number owns its memory
+    private void allocate(long count) {
+        if (ownsArena) {
+            this.arena = Arena.ofShared();
+            this.limbs = arena.allocate(count * Integer.BYTES, Integer.BYTES);
+        } else {
+            // a caller's arena need not hand out zeroed memory
+            this.limbs = arena.allocate(count * Integer.BYTES, Integer.BYTES).fill((byte) 0);
+        }
+        this.capacity = count;
+    }
+
+    private int limb(long i) {
+        return limbs.getAtIndex(LIMB, i);
+    }
+
+    private void setLimb(long i, int value) {
+        limbs.setAtIndex(LIMB, i, value);
+    }
+
+    // set limb i, whose hash weight is weight, and move the cached hash along with it
+    private void replaceLimb(long i, int value, int weight) {
+        if (hashValid) {hash += (LimbBigNumberImpl.limbHash(value) - LimbBigNumberImpl.limbHash(limb(i))) * weight;}
+        setLimb(i, value);
+    }
+
+    private boolean isZero() {
+        return size == 1 && limb(0) == 0;
+    }
+
+    // grow geometrically into a fresh segment and free the old one (a caller's arena frees it when closed)
+    private void ensureCapacity(long wanted) {
+        if (wanted <= capacity) return;
+        Arena oldArena = arena;
+        MemorySegment old = limbs;
+        allocate(Math.max(wanted, capacity * 2));
+        MemorySegment.copy(old, 0, limbs, 0, (long) size * Integer.BYTES);
+        if (ownsArena) {oldArena.close();}
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public BigNumber shiftLeft(int k) {
+        if (k == 0) return this;
+        if (k < 0) return shiftRight(-k);
+
+        if (isZero()) return this; // 0 * 10^k == 0
+        int wholeLimbs = k / DIGITS_PER_LIMB;
+        int rest = k % DIGITS_PER_LIMB;
+        ensureCapacity((long) size + wholeLimbs + 1);
+
+        // multiply by 10^rest, appending the final carry as a new limb
+        if (rest > 0) {
+            long carry = 0;
+            for (int i = 0; i < size; i++) {
+                long t = (long) limb(i) * POW10[rest] + carry;
+                setLimb(i, (int) (t % BASE));
+                carry = t / BASE;
+            }
+            if (carry > 0) {
+                setLimb(size++, (int) carry);
+            }
+        }
+
+        // move every limb up by wholeLimbs (the copy handles the overlap) and zero the low limbs
+        if (wholeLimbs > 0) {
+            MemorySegment.copy(limbs, 0, limbs, (long) wholeLimbs * Integer.BYTES, (long) size * Integer.BYTES);
+            limbs.asSlice(0, (long) wholeLimbs * Integer.BYTES).fill((byte) 0);
+            size += wholeLimbs;
+        }
+        length += k;
+        // every digit moved up k positions: sum d_i P^(i+k) = P^k * sum d_i P^i
+        if (hashValid) {
+            hash *= BigNumbers.hashPow(BigNumbers.HASH_MULTIPLIER, k);
+        }
+        return this;
+    }
+
+    @Override
+    public BigNumber shiftRight(int k) {
+        if (k == 0) return this;
+        if (k < 0) return shiftLeft(-k);
+
+        if (isZero()) return this;        // digits / 10^k, 0 stays 0.
+        if (k >= length) {                // dropped all digits, reset to canonical 0
+            limbs.asSlice(0, (long) size * Integer.BYTES).fill((byte) 0);
+            size = 1;
+            length = 1;
+            hash = 0;
+            return this;
+        }
+        int wholeLimbs = k / DIGITS_PER_LIMB;
+        int rest = k % DIGITS_PER_LIMB;
+
+        if (hashValid) {
+            // take the k dropped digits out of the hash, a limb at a time, then move the rest down k positions
+            int gone = 0;
+            int power = 1;
+            for (int i = 0; i < wholeLimbs; i++) {
+                gone += LimbBigNumberImpl.limbHash(limb(i)) * power;
+                power *= LimbBigNumberImpl.LIMB_HASH_STEP;
+            }
+            gone += LimbBigNumberImpl.limbHash(limb(wholeLimbs) % POW10[rest]) * power;
+            hash = (hash - gone) * BigNumbers.hashPow(BigNumbers.HASH_INVERSE, k);
+        }
+
+        // drop the low wholeLimbs limbs
+        if (wholeLimbs > 0) {
+            long kept = (long) (size - wholeLimbs) * Integer.BYTES;
+            MemorySegment.copy(limbs, (long) wholeLimbs * Integer.BYTES, limbs, 0, kept);
+            limbs.asSlice(kept, (long) wholeLimbs * Integer.BYTES).fill((byte) 0);
+            size -= wholeLimbs;
+        }
+
+        // divide by 10^rest from the top limb down
+        if (rest > 0) {
+            long remainder = 0;
+            for (int i = size - 1; i >= 0; i--) {
+                long t = remainder * BASE + limb(i);
+                setLimb(i, (int) (t / POW10[rest]));
+                remainder = t % POW10[rest];
+            }
+            if (size > 1 && limb(size - 1) == 0) {size--;}
+        }
+        length -= k;
+        return this;
+    }
+
+    @Override
+    public BigNumber addDigit(int digit) {
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("Digit must be between 0 and 9");
+        }
+
+        // add to the least significant limb and propagate the carry; only the limbs it touches change the hash
+        int i = 0;
+        int weight = 1;
+        int value = limb(0) + digit;
+        while (value >= BASE) {
+            replaceLimb(i, value - BASE, weight);
+            i++;
+            weight *= LimbBigNumberImpl.LIMB_HASH_STEP;
+            if (i == size) {
+                ensureCapacity(size + 1L);
+                setLimb(size++, 0);
+            }
+            value = limb(i) + 1;
+        }
+        replaceLimb(i, value, weight);
+        length = (size - 1) * DIGITS_PER_LIMB + LimbBigNumberImpl.digitCount(limb(size - 1));
+        return this;
+    }
+
+    @Override
+    public int getDigitAt(int pos) {
+        if (pos < 0 || pos >= length) {
+            throw new IllegalArgumentException("Position out of bounds");
+        }
+        return limb(pos / DIGITS_PER_LIMB) / POW10[pos % DIGITS_PER_LIMB] % 10;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt digits() {
+        return new PrimitiveIterator.OfInt() {
+            private int pos = 0;
+            private int current;
+
+            @Override
+            public boolean hasNext() {
+                return pos < length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (pos >= length) {throw new NoSuchElementException();}
+                // peel digits off the current limb, loading the next one every 9 digits
+                if (pos % DIGITS_PER_LIMB == 0) {current = limb(pos / DIGITS_PER_LIMB);}
+                int digit = current % 10;
+                current /= 10;
+                pos++;
+                return digit;
+            }
+        };
+    }
+
+    /** A copy in its own off-heap memory, which has to be closed separately. */
+    @Override
+    public BigNumber copy() {
+        OffHeapBigNumberImpl copy = new OffHeapBigNumberImpl(null, size);
+        MemorySegment.copy(limbs, 0, copy.limbs, 0, (long) size * Integer.BYTES);
+        copy.trimmed(size);
+        copy.hash = this.hash;
+        copy.hashValid = this.hashValid;
+        return copy;
+    }
+
+    /** The sum, computed segment to segment (or from the other's limbs or digits) in off-heap memory. */
+    @Override
+    public BigNumber add(BigNumber other) {
+        return sum(other, null);
+    }
+
+    /**
+     * Like add(BigNumber), but the sum lives in arena and is released when arena is closed.
+     * @throws IllegalArgumentException if other or arena is null
+     */
+    public OffHeapBigNumberImpl add(BigNumber other, Arena arena) {
+        return sum(other, requireArena(arena));
+    }
+
+    private OffHeapBigNumberImpl sum(BigNumber other, Arena arena) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+
+        // read the other's limbs in place when it has any, otherwise pack its digits as we go
+        OffHeapBigNumberImpl offHeap = (other instanceof OffHeapBigNumberImpl) ? (OffHeapBigNumberImpl) other : null;
+        LimbBigNumberImpl onHeap = (other instanceof LimbBigNumberImpl) ? (LimbBigNumberImpl) other : null;
+        PrimitiveIterator.OfInt otherDigits = (offHeap == null && onHeap == null) ? other.digits() : null;
+        int otherSize = offHeap != null ? offHeap.size
+                : onHeap != null ? onHeap.limbCount()
+                : (other.length() + DIGITS_PER_LIMB - 1) / DIGITS_PER_LIMB;
+
+        int longer = Math.max(this.size, otherSize);
+        OffHeapBigNumberImpl sum = new OffHeapBigNumberImpl(arena, longer + 1L);
+
+        int carry = 0;
+        for (int i = 0; i < longer; i++) {
+            int a = i < this.size ? this.limb(i) : 0;
+            int b;
+            if (offHeap != null) {
+                b = i < offHeap.size ? offHeap.limb(i) : 0;
+            } else if (onHeap != null) {
+                b = i < onHeap.limbCount() ? onHeap.limbAt(i) : 0;
+            } else {
+                b = LimbBigNumberImpl.nextLimb(otherDigits);
+            }
+            int s = a + b + carry;       // < 2 * 10^9 + 1, fits in an int
+            carry = s >= BASE ? 1 : 0;
+            sum.setLimb(i, s - carry * BASE);
+        }
+        sum.setLimb(longer, carry);
+        return sum.trimmed(longer + 1);
+    }
+
+    @Override
+    public BigNumber multiply(BigNumber other) {
+        return product(other, null);
+    }
+
+    /**
+     * Like multiply(BigNumber), but the product lives in arena and is released when arena is closed.
+     * @throws IllegalArgumentException if other or arena is null
+     */
+    public OffHeapBigNumberImpl multiply(BigNumber other, Arena arena) {
+        return product(other, requireArena(arena));
+    }
+
+    private OffHeapBigNumberImpl product(BigNumber other, Arena arena) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        MemorySegment b = limbsOf(other);
+        int otherSize = (int) (b.byteSize() / Integer.BYTES);
+        if (Math.min(size, otherSize) >= LimbArithmetic.KARATSUBA_THRESHOLD) {
+            // the sub-quadratic kernels work on heap limb arrays; only their result is moved off the heap
+            return fromLimbs(LimbArithmetic.multiply(toLimbArray(), LimbArithmetic.toLimbs(other)), arena);
+        }
+
+        // schoolbook, segment to segment, as in LimbArithmetic.schoolbook
+        OffHeapBigNumberImpl product = new OffHeapBigNumberImpl(arena, (long) size + otherSize);
+        for (int i = 0; i < size; i++) {
+            long ai = limb(i);
+            if (ai == 0) continue;
+            long carry = 0;
+            for (int j = 0; j < otherSize; j++) {
+                // < 10^18 + 2 * 10^9, fits in a long
+                long t = ai * b.getAtIndex(LIMB, j) + product.limb(i + j) + carry;
+                product.setLimb(i + j, (int) (t % BASE));
+                carry = t / BASE;
+            }
+            product.setLimb(i + otherSize, (int) carry);
+        }
+        return product.trimmed(size + otherSize);
+    }
+
+    @Override
+    public BigNumber divide(BigNumber divisor) {
+        return divMod(divisor)[0];
+    }
+
+    @Override
+    public BigNumber remainder(BigNumber divisor) {
+        return divMod(divisor)[1];
+    }
+
+    @Override
+    public BigNumber[] divMod(BigNumber divisor) {
+        return quotientAndRemainder(divisor, null);
+    }
+
+    /**
+     * Like divMod(BigNumber), but quotient and remainder live in arena and are released when arena is closed.
+     * @throws IllegalArgumentException if divisor or arena is null, or divisor is zero
+     */
+    public OffHeapBigNumberImpl[] divMod(BigNumber divisor, Arena arena) {
+        return quotientAndRemainder(divisor, requireArena(arena));
+    }
+
+    private OffHeapBigNumberImpl[] quotientAndRemainder(BigNumber divisor, Arena arena) {
+        if (divisor == null) {
+            throw new IllegalArgumentException("divisor must not be null");
+        }
+        MemorySegment v = limbsOf(divisor);
+        if (v.byteSize() != Integer.BYTES || v.getAtIndex(LIMB, 0) == 0) {
+            // zero and multi-limb divisors go through the heap kernels, which also reject a zero divisor
+            int[][] result = LimbArithmetic.divMod(toLimbArray(), LimbArithmetic.toLimbs(divisor));
+            return new OffHeapBigNumberImpl[] {fromLimbs(result[0], arena), fromLimbs(result[1], arena)};
+        }
+
+        // a single-limb divisor: short division from the top limb down, segment to segment
+        int d = v.getAtIndex(LIMB, 0);
+        OffHeapBigNumberImpl quotient = new OffHeapBigNumberImpl(arena, size);
+        long remainder = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            long t = remainder * BASE + limb(i);
+            quotient.setLimb(i, (int) (t / d));
+            remainder = t % d;
+        }
+        OffHeapBigNumberImpl rest = new OffHeapBigNumberImpl(arena, 1);
+        rest.setLimb(0, (int) remainder);
+        return new OffHeapBigNumberImpl[] {quotient.trimmed(size), rest.trimmed(1)};
+    }
+
+    @Override
+    public int compareTo(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        if (!(other instanceof OffHeapBigNumberImpl)) {
+            return BigNumbers.compareByDigits(this, other);
+        }
+
+        OffHeapBigNumberImpl otherImpl = (OffHeapBigNumberImpl) other;
+        if (this.size != otherImpl.size) {
+            return this.size > otherImpl.size ? 1 : -1;
+        }
+        // same size: compare limb by limb from the most significant one
+        for (int i = size - 1; i >= 0; i--) {
+            int a = this.limb(i);
+            int b = otherImpl.limb(i);
+            if (a != b) {
+                return a > b ? 1 : -1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof BigNumber && compareTo((BigNumber) o) == 0);
+    }
+
+    /** The hash defined on BigNumber, computed once a limb at a time and then maintained by the mutators. */
+    @Override
+    public int hashCode() {
+        if (!hashValid) {
+            int h = 0;
+            int power = 1;
+            for (int i = 0; i < size; i++) {
+                h += LimbBigNumberImpl.limbHash(limb(i)) * power;
+                power *= LimbBigNumberImpl.LIMB_HASH_STEP;
+            }
+            hash = h;
+            hashValid = true;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        // the limbs are formatted into a Latin-1 heap buffer, which the String constructor copies once more
+        byte[] out = new byte[length];
+        int end = length;
+        for (int i = 0; i < size - 1; i++, end -= DIGITS_PER_LIMB) {
+            DecimalCodec.formatLimb(limb(i), out, end);
+        }
+        // the top limb without its leading zeros
+        for (int top = limb(size - 1); end > 0; top /= 10) {
+            out[--end] = (byte) ('0' + top % 10);
+        }
+        return new String(out, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,161 @@
+package bignumber;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Parallel sum / max / min over many BigNumbers on a ForkJoinPool.
+ * The input is split into a balanced tree of ranges; each leaf sums into its own
+ * BigNumberAccumulator without propagating carries, and carries are settled only when two
+ * halves are merged on the way back up.
+ */
+public final class ParallelBigNumbers {
+    // ranges at most this long are reduced sequentially
+    static final int LEAF_SIZE = 1024;
+
+    private ParallelBigNumbers() {}
+
+    /** Sum of all values on the common pool; the empty sum is 0. */
+    public static BigNumber sum(Collection<? extends BigNumber> values) {
+        return sum(values, ForkJoinPool.commonPool());
+    }
+
+    /** Sum of all values on the given pool; the empty sum is 0. */
+    public static BigNumber sum(Collection<? extends BigNumber> values, ForkJoinPool pool) {
+        BigNumber[] array = toArray(values);
+        if (array.length == 0) {
+            return new LimbBigNumberImpl();
+        }
+        return pool.invoke(new SumTask(array, 0, array.length)).toBigNumber();
+    }
+
+    /** Sum of all values of a (sequential or parallel) stream on the common pool. */
+    public static BigNumber sum(Stream<? extends BigNumber> values) {
+        return sum(streamToList(values));
+    }
+
+    /**
+     * Largest value on the common pool.
+     * @throws NoSuchElementException if values is empty
+     */
+    public static BigNumber max(Collection<? extends BigNumber> values) {
+        return extreme(values, 1, ForkJoinPool.commonPool());
+    }
+
+    /** Largest value of a stream. */
+    public static BigNumber max(Stream<? extends BigNumber> values) {
+        return max(streamToList(values));
+    }
+
+    /**
+     * Smallest value on the common pool.
+     * @throws NoSuchElementException if values is empty
+     */
+    public static BigNumber min(Collection<? extends BigNumber> values) {
+        return extreme(values, -1, ForkJoinPool.commonPool());
+    }
+
+    /** Smallest value of a stream. */
+    public static BigNumber min(Stream<? extends BigNumber> values) {
+        return min(streamToList(values));
+    }
+
+    /* ------------------ helpers ------------------ */
+
+    private static BigNumber[] toArray(Collection<? extends BigNumber> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("values must not be null");
+        }
+        BigNumber[] array = values.toArray(new BigNumber[0]);
+        for (BigNumber value : array) {
+            if (value == null) {
+                throw new IllegalArgumentException("values must not contain null");
+            }
+        }
+        return array;
+    }
+
+    private static Collection<BigNumber> streamToList(Stream<? extends BigNumber> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("values must not be null");
+        }
+        return Arrays.asList(values.toArray(BigNumber[]::new));
+    }
+
+    // sign = 1 keeps the largest value, sign = -1 the smallest
+    private static BigNumber extreme(Collection<? extends BigNumber> values, int sign, ForkJoinPool pool) {
+        BigNumber[] array = toArray(values);
+        if (array.length == 0) {
+            throw new NoSuchElementException("no values");
+        }
+        return pool.invoke(new ExtremeTask(array, 0, array.length, sign));
+    }
+
+    /** Sums values[from, to) into one accumulator, splitting the range in half above LEAF_SIZE. */
+    private static final class SumTask extends RecursiveTask<BigNumberAccumulator> {
+        private final BigNumber[] values;
+        private final int from;
+        private final int to;
+
+        SumTask(BigNumber[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BigNumberAccumulator compute() {
+            if (to - from <= LEAF_SIZE) {
+                BigNumberAccumulator acc = new BigNumberAccumulator();
+                for (int i = from; i < to; i++) {
+                    acc.addInPlace(values[i]);
+                }
+                return acc;
+            }
+            int mid = (from + to) >>> 1;
+            SumTask left = new SumTask(values, from, mid);
+            left.fork();
+            BigNumberAccumulator right = new SumTask(values, mid, to).compute();
+            // settling carries happens here, once per merge
+            return left.join().addInPlace(right);
+        }
+    }
+
+    /** Largest (sign 1) or smallest (sign -1) of values[from, to). */
+    private static final class ExtremeTask extends RecursiveTask<BigNumber> {
+        private final BigNumber[] values;
+        private final int from;
+        private final int to;
+        private final int sign;
+
+        ExtremeTask(BigNumber[] values, int from, int to, int sign) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.sign = sign;
+        }
+
+        @Override
+        protected BigNumber compute() {
+            if (to - from <= LEAF_SIZE) {
+                BigNumber best = values[from];
+                for (int i = from + 1; i < to; i++) {
+                    if (Integer.signum(values[i].compareTo(best)) == sign) {
+                        best = values[i];
+                    }
+                }
+                return best;
+            }
+            int mid = (from + to) >>> 1;
+            ExtremeTask left = new ExtremeTask(values, from, mid, sign);
+            left.fork();
+            BigNumber right = new ExtremeTask(values, mid, to, sign).compute();
+            BigNumber leftBest = left.join();
+            return Integer.signum(right.compareTo(leftBest)) == sign ? right : leftBest;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package bignumber;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * immutable linked list implementation of BigNumber. Nodes are never changed after construction,
+ * so numbers share them freely: copy() returns this, and shiftLeft, shiftRight and addDigit return
+ * a new number that reuses the unchanged more-significant part of this one.
+ * For example, 32411 + 9 (addDigit) builds new nodes 0 -> 2 and points them at the old 4 -> 2 -> 3.
+ * Unlike the other implementations, the shift and addDigit methods leave this number as it is.
+ */
+public class PersistentBigNumberImpl implements BigNumber {
+    // singly linked list, LSD first; final fields make sharing safe, also across threads
+    private static final class Node {
+        private final int data;
+        private final Node next;
+
+        Node(int data, Node next) {
+            this.data = data;
+            this.next = next;
+        }
+    }
+
+    private static final Node ZERO = new Node(0, null);
+
+    private final Node head;
+    private final int length;
+    // cached hashCode(), 0 until computed (hashIsZero tells a computed 0 apart), as in String
+    private int hash;
+    private boolean hashIsZero;
+
+    // construct 0 as required to start with 0
+    public PersistentBigNumberImpl() {
+        this(ZERO, 1);
+    }
+
+    public PersistentBigNumberImpl(String s) {
+        if (s == null || s.isEmpty()) {throw new IllegalArgumentException("null or empty string");}
+        byte[] ascii = DecimalCodec.validatedAscii(s);
+
+        // find the first non-zero digit
+        int nonZeroIndex = 0;
+        while (nonZeroIndex < ascii.length && ascii[nonZeroIndex] == '0') {nonZeroIndex++;}
+        if (nonZeroIndex == ascii.length) {
+            this.head = ZERO;
+            this.length = 1;
+            return;
+        }
+
+        // the MSD is the tail of the list, so build from the left of the string
+        Node node = null;
+        for (int i = nonZeroIndex; i < ascii.length; i++) {
+            node = new Node(ascii[i] - '0', node);
+        }
+        this.head = node;
+        this.length = ascii.length - nonZeroIndex;
+    }
+
+    /** Private ctor for internal use (assumes canonicalized args). */
+    private PersistentBigNumberImpl(Node head, int length) {
+        this.head = head;
+        this.length = length;
+    }
+
+    /** Build a number from base 10^9 limbs (least-significant first, as in LimbArithmetic). */
+    static PersistentBigNumberImpl fromLimbs(int[] limbs) {
+        int size = limbs.length;
+        while (size > 0 && limbs[size - 1] == 0) {size--;}
+        if (size == 0) {return new PersistentBigNumberImpl();}
+
+        // from the top limb down, so each new node points at the more significant ones
+        int top = limbs[size - 1];
+        int topDigits = LimbBigNumberImpl.digitCount(top);
+        Node node = null;
+        for (int j = topDigits - 1; j >= 0; j--) {
+            node = new Node(top / LimbBigNumberImpl.POW10[j] % 10, node);
+        }
+        for (int i = size - 2; i >= 0; i--) {
+            for (int j = LimbBigNumberImpl.DIGITS_PER_LIMB - 1; j >= 0; j--) {
+                node = new Node(limbs[i] / LimbBigNumberImpl.POW10[j] % 10, node);
+            }
+        }
+        return new PersistentBigNumberImpl(node, (size - 1) * LimbBigNumberImpl.DIGITS_PER_LIMB + topDigits);
+    }
+
+    private boolean isZero() {
+        return length == 1 && head.data == 0;
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    /** A new number with k zeros in front of the shared list of this one. */
+    @Override
+    public BigNumber shiftLeft(int k) {
+        if (k == 0) return this;
+        if (k < 0) return shiftRight(-k);
+
+        if (isZero()) return this; // 0 * 10^k == 0
+        Node node = head;
+        for (int i = 0; i < k; i++) {
+            node = new Node(0, node);
+        }
+        return new PersistentBigNumberImpl(node, length + k);
+    }
+
+    /** A new number starting k nodes into the list of this one; no nodes are allocated. */
+    @Override
+    public BigNumber shiftRight(int k) {
+        if (k == 0) return this;
+        if (k < 0) return shiftLeft(-k);
+
+        if (k >= length) return new PersistentBigNumberImpl();
+        Node node = head;
+        for (int i = 0; i < k; i++) {
+            node = node.next;
+        }
+        return new PersistentBigNumberImpl(node, length - k);
+    }
+
+    /** A new number that copies only the nodes the carry reaches and shares the rest. */
+    @Override
+    public BigNumber addDigit(int digit) {
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("Digit must be between 0 and 9");
+        }
+        if (digit == 0) return this;
+
+        int first = head.data + digit;
+        if (first < 10) {
+            return new PersistentBigNumberImpl(new Node(first, head.next), length);
+        }
+
+        // the carry turns a run of 9s into 0s and stops at the first other digit (or a new top 1)
+        int nines = 0;
+        Node stop = head.next;
+        while (stop != null && stop.data == 9) {
+            stop = stop.next;
+            nines++;
+        }
+        Node node = (stop == null) ? new Node(1, null) : new Node(stop.data + 1, stop.next);
+        for (int i = 0; i < nines; i++) {
+            node = new Node(0, node);
+        }
+        return new PersistentBigNumberImpl(new Node(first - 10, node), stop == null ? length + 1 : length);
+    }
+
+    @Override
+    public int getDigitAt(int pos) {
+        if (pos < 0 || pos >= length) {
+            throw new IllegalArgumentException("Position out of bounds");
+        }
+        Node current = head;
+        for (int i = 0; i < pos; i++) {
+            current = current.next;
+        }
+        return current.data;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt digits() {
+        return new PrimitiveIterator.OfInt() {
+            private Node current = head;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (current == null) {throw new NoSuchElementException();}
+                int digit = current.data;
+                current = current.next;
+                return digit;
+            }
+        };
+    }
+
+    // immutable, so the number itself is its own copy
+    @Override
+    public BigNumber copy() {
+        return this;
+    }
+
+    @Override
+    public BigNumber add(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        // with another persistent number, walk the shorter one and share the tail of the longer
+        Node longer = this.head;
+        int longerLength = this.length;
+        PrimitiveIterator.OfInt shorter = other.digits();
+        if (other instanceof PersistentBigNumberImpl && other.length() > this.length) {
+            longer = ((PersistentBigNumberImpl) other).head;
+            longerLength = other.length();
+            shorter = this.digits();
+        }
+
+        // sum digits until both the shorter operand and the carry are used up
+        int[] sum = new int[Math.max(length, other.length()) + 1];
+        int count = 0;
+        int carry = 0;
+        while (shorter.hasNext() || (carry > 0 && longer != null)) {
+            int d = (shorter.hasNext() ? shorter.nextInt() : 0) + (longer != null ? longer.data : 0) + carry;
+            sum[count++] = d % 10;
+            carry = d / 10;
+            if (longer != null) {
+                longer = longer.next;
+                longerLength--;
+            }
+        }
+        if (carry > 0) {
+            sum[count++] = carry;
+        }
+
+        // whatever is left of the longer list is shared as the result's top digits
+        Node node = longer;
+        for (int i = count - 1; i >= 0; i--) {
+            node = new Node(sum[i], node);
+        }
+        return new PersistentBigNumberImpl(node, count + longerLength);
+    }
+
+    @Override
+    public BigNumber multiply(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        return fromLimbs(LimbArithmetic.multiply(LimbArithmetic.toLimbs(this), LimbArithmetic.toLimbs(other)));
+    }
+
+    @Override
+    public BigNumber divide(BigNumber divisor) {
+        return divMod(divisor)[0];
+    }
+
+    @Override
+    public BigNumber remainder(BigNumber divisor) {
+        return divMod(divisor)[1];
+    }
+
+    @Override
+    public BigNumber[] divMod(BigNumber divisor) {
+        if (divisor == null) {
+            throw new IllegalArgumentException("divisor must not be null");
+        }
+        int[][] result = LimbArithmetic.divMod(LimbArithmetic.toLimbs(this), LimbArithmetic.toLimbs(divisor));
+        return new BigNumber[] {fromLimbs(result[0]), fromLimbs(result[1])};
+    }
+
+    @Override
+    public int compareTo(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        if (!(other instanceof PersistentBigNumberImpl)) {
+            return BigNumbers.compareByDigits(this, other);
+        }
+
+        PersistentBigNumberImpl otherImpl = (PersistentBigNumberImpl) other;
+        if (this.length != otherImpl.length) {
+            return this.length > otherImpl.length ? 1 : -1;
+        }
+        // LSD first, the last difference wins; once both lists reach the same node the rest is equal
+        int result = 0;
+        Node curr1 = this.head;
+        Node curr2 = otherImpl.head;
+        while (curr1 != curr2) {
+            if (curr1.data != curr2.data) {
+                result = curr1.data > curr2.data ? 1 : -1;
+            }
+            curr1 = curr1.next;
+            curr2 = curr2.next;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof BigNumber && compareTo((BigNumber) o) == 0);
+    }
+
+    // immutable, so the hash is computed once; a racing thread at worst computes the same value again
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && !hashIsZero) {
+            h = BigNumbers.hashOf(this);
+            if (h == 0) {
+                hashIsZero = true;
+            } else {
+                hash = h;
+            }
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        int pos = length;
+        for (Node current = head; current != null; current = current.next) {
+            chars[--pos] = (char) ('0' + current.data);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,313 @@
+package bignumber;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * BigNumber kept as a limb significand plus two base-10 offsets, so shifts never touch the digits:
+ * value = floor(significand / 10^dropped) * 10^exponent.
+ * For example, 32411 shifted left by a million is stored as significand 32411 with exponent 1000000,
+ * and the zeros are only written out when an operation needs them as real digits.
+ */
+public class ScaledBigNumberImpl implements BigNumber {
+    // never shared with another number; mutated only by materialize() and addDigit()
+    private LimbBigNumberImpl significand;
+    // low digits of the significand cut off by shiftRight
+    private int dropped;
+    // implicit zeros appended by shiftLeft
+    private int exponent;
+    // cached hashCode(); once computed, the mutators keep it up to date instead of dropping it
+    private int hash;
+    private boolean hashValid;
+
+    // construct 0 as required to start with 0
+    public ScaledBigNumberImpl() {
+        this(new LimbBigNumberImpl(), 0, 0);
+    }
+
+    /** Parse a decimal string; trailing zeros go straight into the exponent. */
+    public ScaledBigNumberImpl(String s) {
+        if (s == null || s.isEmpty()) {throw new IllegalArgumentException("null or empty string");}
+        int end = s.length();
+        while (end > 1 && s.charAt(end - 1) == '0') {end--;}
+        LimbBigNumberImpl parsed = new LimbBigNumberImpl(s.substring(0, end));
+        this.significand = parsed;
+        this.dropped = 0;
+        this.exponent = parsed.length() == 1 && parsed.getDigitAt(0) == 0 ? 0 : s.length() - end;
+    }
+
+    /** Package-private ctor for internal use (takes ownership of significand). */
+    ScaledBigNumberImpl(LimbBigNumberImpl significand, int dropped, int exponent) {
+        this.significand = significand;
+        this.dropped = dropped;
+        this.exponent = exponent;
+        canonicalize();
+    }
+
+    // a number whose remaining significand is empty or 0 is the canonical 0
+    private void canonicalize() {
+        if (dropped >= significand.length() || isSignificandZero()) {
+            setZero();
+        }
+    }
+
+    private void setZero() {
+        significand = new LimbBigNumberImpl();
+        dropped = 0;
+        exponent = 0;
+        hash = 0;
+    }
+
+    private boolean isSignificandZero() {
+        return significand.length() == 1 && significand.getDigitAt(0) == 0;
+    }
+
+    private boolean isZero() {
+        return exponent == 0 && dropped == 0 && isSignificandZero();
+    }
+
+    /** floor(significand / 10^dropped) as a fresh limb number, without the implicit zeros. */
+    private LimbBigNumberImpl visibleSignificand() {
+        return (LimbBigNumberImpl) significand.copy().shiftRight(dropped);
+    }
+
+    // write the dropped digits off and the implicit zeros out, so the significand is the value
+    private void materialize() {
+        if (dropped == 0 && exponent == 0) return;
+        significand.shiftRight(dropped).shiftLeft(exponent);
+        dropped = 0;
+        exponent = 0;
+    }
+
+    @Override
+    public int length() {
+        return significand.length() - dropped + exponent;
+    }
+
+    @Override
+    public BigNumber shiftLeft(int k) {
+        if (k == 0) return this;
+        if (k < 0) return shiftRight(-k);
+
+        if (isZero()) return this; // 0 * 10^k == 0
+        // the length must still fit an int, or length() and getDigitAt() break
+        if ((long) length() + k > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Shift would make the number longer than Integer.MAX_VALUE digits");
+        }
+        exponent += k;
+        // every digit moved up k positions: sum d_i P^(i+k) = P^k * sum d_i P^i
+        if (hashValid) {
+            hash *= BigNumbers.hashPow(BigNumbers.HASH_MULTIPLIER, k);
+        }
+        return this;
+    }
+
+    @Override
+    public BigNumber shiftRight(int k) {
+        if (k == 0) return this;
+        if (k < 0) return shiftLeft(-k);
+
+        if (isZero()) return this;
+        // shifting out every digit leaves 0, however far past the end k reaches
+        if (k >= length()) {
+            setZero();
+            return this;
+        }
+        if (hashValid) {
+            // take the dropped digits out of the hash (the implicit zeros add nothing), then move the rest down
+            int gone = 0;
+            int power = BigNumbers.hashPow(BigNumbers.HASH_MULTIPLIER, exponent);
+            for (int pos = exponent; pos < k; pos++) {
+                gone += significand.getDigitAt(pos - exponent + dropped) * power;
+                power *= BigNumbers.HASH_MULTIPLIER;
+            }
+            hash = (hash - gone) * BigNumbers.hashPow(BigNumbers.HASH_INVERSE, k);
+        }
+        // eat implicit zeros first, then cut significand digits; k < length() keeps dropped in range
+        if (k <= exponent) {
+            exponent -= k;
+        } else {
+            dropped = (int) ((long) dropped + k - exponent);
+            exponent = 0;
+            canonicalize();
+        }
+        return this;
+    }
+
+    @Override
+    public BigNumber addDigit(int digit) {
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("Digit must be between 0 and 9");
+        }
+        if (digit == 0) return this;
+
+        // the digit lands inside the implicit zeros, so they have to become real digits now
+        materialize();
+        if (hashValid) {
+            // only the digits the carry touches change the hash: add (new - old) * P^i for each
+            int sum = significand.getDigitAt(0) + digit;
+            hash += sum % 10 - significand.getDigitAt(0);
+            int power = 1;
+            int pos = 1;
+            for (; sum >= 10 && pos < significand.length(); pos++) {
+                power *= BigNumbers.HASH_MULTIPLIER;
+                int old = significand.getDigitAt(pos);
+                sum = old + 1;
+                hash += (sum % 10 - old) * power;
+            }
+            if (sum >= 10) {hash += power * BigNumbers.HASH_MULTIPLIER;}
+        }
+        significand.addDigit(digit);
+        return this;
+    }
+
+    @Override
+    public int getDigitAt(int pos) {
+        if (pos < 0 || pos >= length()) {
+            throw new IllegalArgumentException("Position out of bounds");
+        }
+        return pos < exponent ? 0 : significand.getDigitAt(pos - exponent + dropped);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt digits() {
+        return new PrimitiveIterator.OfInt() {
+            private int pos = 0;
+            private final int length = length();
+
+            @Override
+            public boolean hasNext() {
+                return pos < length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (pos >= length) {throw new NoSuchElementException();}
+                return getDigitAt(pos++);
+            }
+        };
+    }
+
+    @Override
+    public BigNumber copy() {
+        ScaledBigNumberImpl copy = new ScaledBigNumberImpl((LimbBigNumberImpl) significand.copy(), dropped, exponent);
+        copy.hash = this.hash;
+        copy.hashValid = this.hashValid;
+        return copy;
+    }
+
+    @Override
+    public BigNumber add(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        if (!(other instanceof ScaledBigNumberImpl)) {
+            // the other has no implicit zeros to share, so line our digits up with its digits
+            BigNumber sum = visibleSignificand().shiftLeft(exponent).add(other);
+            return new ScaledBigNumberImpl((LimbBigNumberImpl) sum, 0, 0);
+        }
+
+        // keep the zeros both operands share implicit: a 10^ea + b 10^eb = (a 10^(ea-e) + b 10^(eb-e)) 10^e
+        ScaledBigNumberImpl otherImpl = (ScaledBigNumberImpl) other;
+        int common = Math.min(this.exponent, otherImpl.exponent);
+        BigNumber a = this.visibleSignificand().shiftLeft(this.exponent - common);
+        BigNumber b = otherImpl.visibleSignificand().shiftLeft(otherImpl.exponent - common);
+        return new ScaledBigNumberImpl((LimbBigNumberImpl) a.add(b), 0, common);
+    }
+
+    @Override
+    public BigNumber multiply(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        // exponents add up and never need to be multiplied out
+        int otherExponent = 0;
+        BigNumber otherSignificand = other;
+        if (other instanceof ScaledBigNumberImpl) {
+            otherExponent = ((ScaledBigNumberImpl) other).exponent;
+            otherSignificand = ((ScaledBigNumberImpl) other).visibleSignificand();
+        }
+        BigNumber product = visibleSignificand().multiply(otherSignificand);
+        return new ScaledBigNumberImpl((LimbBigNumberImpl) product, 0, exponent + otherExponent);
+    }
+
+    @Override
+    public BigNumber divide(BigNumber divisor) {
+        return divMod(divisor)[0];
+    }
+
+    @Override
+    public BigNumber remainder(BigNumber divisor) {
+        return divMod(divisor)[1];
+    }
+
+    @Override
+    public BigNumber[] divMod(BigNumber divisor) {
+        if (divisor == null) {
+            throw new IllegalArgumentException("divisor must not be null");
+        }
+        // division mixes every digit, so do it on the written-out value
+        BigNumber[] result = visibleSignificand().shiftLeft(exponent).divMod(divisor);
+        return new BigNumber[] {
+                new ScaledBigNumberImpl((LimbBigNumberImpl) result[0], 0, 0),
+                new ScaledBigNumberImpl((LimbBigNumberImpl) result[1], 0, 0)
+        };
+    }
+
+    @Override
+    public int compareTo(BigNumber other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+        if (!(other instanceof ScaledBigNumberImpl)) {
+            return BigNumbers.compareByDigits(this, other);
+        }
+
+        ScaledBigNumberImpl otherImpl = (ScaledBigNumberImpl) other;
+        if (this.length() != otherImpl.length()) {
+            return this.length() > otherImpl.length() ? 1 : -1;
+        }
+        // MSD first; below both exponents every digit is an implicit 0 on both sides
+        int stop = Math.min(this.exponent, otherImpl.exponent);
+        for (int pos = length() - 1; pos >= stop; pos--) {
+            int a = this.getDigitAt(pos);
+            int b = otherImpl.getDigitAt(pos);
+            if (a != b) {
+                return a > b ? 1 : -1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof BigNumber && compareTo((BigNumber) o) == 0);
+    }
+
+    /**
+     * The hash defined on BigNumber, computed once and then maintained by the mutators.
+     * The implicit zeros only scale the hash of the visible significand by P^exponent.
+     */
+    @Override
+    public int hashCode() {
+        if (!hashValid) {
+            int h = 0;
+            int power = 1;
+            for (int pos = dropped; pos < significand.length(); pos++) {
+                h += significand.getDigitAt(pos) * power;
+                power *= BigNumbers.HASH_MULTIPLIER;
+            }
+            hash = h * BigNumbers.hashPow(BigNumbers.HASH_MULTIPLIER, exponent);
+            hashValid = true;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        if (isZero()) {
+            return "0";
+        }
+        return visibleSignificand().toString() + "0".repeat(exponent);
+    }
+}
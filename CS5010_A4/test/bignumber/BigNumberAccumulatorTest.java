@@ -0,0 +1,72 @@
+package bignumber;
+
+import org.testng.annotations.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+public class BigNumberAccumulatorTest {
+
+    @Test
+    @DisplayName("starts at zero, or at the initial value")
+    public void startValues() {
+        assertEquals("0", new BigNumberAccumulator().toString());
+        assertEquals(1, new BigNumberAccumulator().length());
+        assertEquals("12345", new BigNumberAccumulator(new BigNumberImpl("12345")).toString());
+    }
+
+    @Test
+    @DisplayName("addInPlace carries across limbs and mixes implementations")
+    public void addInPlaceCarries() {
+        BigNumberAccumulator acc = new BigNumberAccumulator();
+        acc.addInPlace(new LimbBigNumberImpl("999999999999999999"))
+                .addInPlace(new BigNumberImpl("1"))
+                .addInPlace(new ScaledBigNumberImpl("1").shiftLeft(30));
+        assertEquals("1000000000001000000000000000000", acc.toString());
+        assertEquals(31, acc.length());
+        assertThrows(IllegalArgumentException.class, () -> acc.addInPlace((BigNumber) null));
+    }
+
+    @Test
+    @DisplayName("addAll matches BigInteger for many random terms, and snapshots stay fixed")
+    public void addAllCrossCheck() {
+        Random rnd = new Random(7);
+        List<BigNumber> values = new ArrayList<>();
+        BigInteger expected = BigInteger.ZERO;
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder digits = new StringBuilder();
+            int n = 1 + rnd.nextInt(40);
+            for (int j = 0; j < n; j++) digits.append(rnd.nextInt(10));
+            values.add(i % 2 == 0 ? new LimbBigNumberImpl(digits.toString()) : new BigNumberImpl(digits.toString()));
+            expected = expected.add(new BigInteger(digits.toString()));
+        }
+        BigNumberAccumulator acc = new BigNumberAccumulator().addAll(values);
+        BigNumber snapshot = acc.toBigNumber();
+        assertEquals(expected.toString(), snapshot.toString());
+
+        acc.addInPlace(new BigNumberImpl("1"));
+        assertEquals(expected.toString(), snapshot.toString());
+        assertEquals(expected.add(BigInteger.ONE).toString(), acc.toString());
+    }
+
+    @Test
+    @DisplayName("clear resets to zero; merging accumulators adds their totals")
+    public void clearAndMerge() {
+        BigNumberAccumulator a = new BigNumberAccumulator(new BigNumberImpl("999999999"));
+        BigNumberAccumulator b = new BigNumberAccumulator(new BigNumberImpl("1"));
+        a.addInPlace(b);
+        assertEquals("1000000000", a.toString());
+        assertEquals("1", b.toString());
+
+        a.clear();
+        assertEquals("0", a.toString());
+        a.addInPlace(new BigNumberImpl("42"));
+        assertEquals("42", a.toString());
+    }
+}
@@ -0,0 +1,105 @@
+package bignumber;
+
+import org.testng.annotations.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+
+public class BigNumberCodecTest {
+
+    @Test
+    @DisplayName("layout: count, then two digits per byte from the least-significant digit")
+    public void layout() {
+        ByteBuffer buf = ByteBuffer.allocate(BigNumberCodec.encodedSize(new BigNumberImpl("12345")));
+        BigNumberCodec.write(new BigNumberImpl("12345"), buf);
+        assertArrayEquals(new byte[] {0, 0, 0, 5, 0x45, 0x23, 0x01}, buf.array());
+    }
+
+    @Test
+    @DisplayName("ByteBuffer and DataOutput round trips for every implementation, back to back")
+    public void roundTrips() throws Exception {
+        StringBuilder digits = new StringBuilder("7");
+        for (int i = 0; i < 1000; i++) digits.append((char) ('0' + (i * 7) % 10));
+        BigNumber[] numbers = {
+                new BigNumberImpl(), new BigNumberImpl("9"), new BigNumberImpl("10"),
+                new LimbBigNumberImpl("123456789"), new LimbBigNumberImpl("1234567890"),
+                new LimbBigNumberImpl(digits.toString()),
+                new ScaledBigNumberImpl("42").shiftLeft(31)
+        };
+
+        int total = 0;
+        for (BigNumber n : numbers) total += BigNumberCodec.encodedSize(n);
+        ByteBuffer buf = ByteBuffer.allocate(total);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (BigNumber n : numbers) {
+            BigNumberCodec.write(n, buf);
+            BigNumberCodec.write(n, out);
+        }
+        assertFalse(buf.hasRemaining());
+        assertArrayEquals(buf.array(), bytes.toByteArray());
+
+        buf.flip();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (BigNumber n : numbers) {
+            assertEquals(n.toString(), BigNumberCodec.read(buf).toString());
+            BigNumber fromStream = BigNumberCodec.read(in);
+            assertEquals(0, fromStream.compareTo(n));
+            assertEquals(n.length(), fromStream.length());
+        }
+    }
+
+    @Test
+    @DisplayName("malformed input is rejected")
+    public void rejectsMalformed() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BigNumberCodec.read(ByteBuffer.wrap(new byte[] {0, 0, 0, 0})));
+        assertThrows(IllegalArgumentException.class,
+                () -> BigNumberCodec.read(ByteBuffer.wrap(new byte[] {0, 0, 0, 2, 0x1A})));
+        assertThrows(IllegalArgumentException.class,
+                () -> BigNumberCodec.read(ByteBuffer.wrap(new byte[] {0, 0, 0, 1, 0x31})));
+        assertThrows(EOFException.class, () -> BigNumberCodec.read(
+                new DataInputStream(new ByteArrayInputStream(new byte[] {0, 0, 0, 9, 0x12}))));
+        assertEquals("305", BigNumberCodec.read(ByteBuffer.wrap(new byte[] {0, 0, 0, 4, 0x05, 0x03})).toString());
+    }
+
+    @Test
+    @DisplayName("an untrusted digit count cannot overflow or force a huge allocation")
+    public void rejectsCountsLargerThanThePayload() {
+        // 0x7FFFFFFF digits claimed, one byte given
+        byte[] huge = {0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x21};
+        assertThrows(BufferUnderflowException.class, () -> BigNumberCodec.read(ByteBuffer.wrap(huge)));
+        assertThrows(EOFException.class,
+                () -> BigNumberCodec.read(new DataInputStream(new ByteArrayInputStream(huge))));
+
+        // more digits claimed than present, across several read chunks
+        byte[] longer = new byte[4 + BigNumberCodec.READ_CHUNK * 2 + 10];
+        ByteBuffer.wrap(longer).putInt(BigNumberCodec.READ_CHUNK * 6);
+        assertThrows(BufferUnderflowException.class, () -> BigNumberCodec.read(ByteBuffer.wrap(longer)));
+        assertThrows(EOFException.class,
+                () -> BigNumberCodec.read(new DataInputStream(new ByteArrayInputStream(longer))));
+    }
+
+    @Test
+    @DisplayName("numbers longer than one read chunk decode from a stream")
+    public void readsAcrossChunks() throws Exception {
+        StringBuilder digits = new StringBuilder("7");
+        for (int i = 0; digits.length() < 3 * BigNumberCodec.READ_CHUNK + 5; i++) {
+            digits.append(i % 10);
+        }
+        BigNumber n = new LimbBigNumberImpl(digits.toString());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BigNumberCodec.write(n, new DataOutputStream(bytes));
+        BigNumber back = BigNumberCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(digits.toString(), back.toString());
+    }
+}
@@ -0,0 +1,72 @@
+package bignumber;
+
+import org.testng.annotations.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+public class BigNumberExpressionTest {
+
+    @Test
+    @DisplayName("empty and single-term expressions")
+    public void trivialExpressions() {
+        assertEquals("0", new BigNumberExpression().evaluate().toString());
+        assertEquals("12345", new BigNumberExpression(new BigNumberImpl("12345")).toString());
+        assertEquals("0", new BigNumberExpression(new BigNumberImpl()).shiftLeft(5).toString());
+        assertThrows(IllegalArgumentException.class, () -> new BigNumberExpression().plus((BigNumber) null));
+        assertThrows(IllegalArgumentException.class, () -> new BigNumberExpression().plus(new BigNumberImpl("1"), -1));
+        assertThrows(IllegalArgumentException.class, () -> new BigNumberExpression().shiftLeft(-1));
+    }
+
+    @Test
+    @DisplayName("a + b.shiftLeft(k) + c, carries through gaps, and terms are not modified")
+    public void shiftedSum() {
+        BigNumber a = new BigNumberImpl("999");
+        BigNumber b = new LimbBigNumberImpl("12");
+        BigNumber c = new ScaledBigNumberImpl("1");
+        BigNumber result = new BigNumberExpression(a).plus(b, 10).plus(c).evaluate();
+        assertEquals("120000001000", result.toString());
+        assertEquals("999", a.toString());
+        assertEquals("12", b.toString());
+
+        // shiftLeft applies to the terms added so far, not to later ones
+        BigNumberExpression e = new BigNumberExpression(new BigNumberImpl("5")).shiftLeft(3).plus(new BigNumberImpl("7"));
+        assertEquals("5007", e.toString());
+        assertEquals("50070", new BigNumberExpression().plus(e).shiftLeft(1).toString());
+        assertEquals("10014", e.plus(e).toString());
+        assertEquals(4, e.termCount());
+    }
+
+    @Test
+    @DisplayName("many random shifted terms agree with BigInteger")
+    public void randomCrossCheck() {
+        Random rnd = new Random(14);
+        for (int t = 0; t < 50; t++) {
+            BigNumberExpression e = new BigNumberExpression();
+            BigInteger expected = BigInteger.ZERO;
+            List<BigNumber> plain = new ArrayList<>();
+            int terms = 1 + rnd.nextInt(40);
+            for (int i = 0; i < terms; i++) {
+                BigInteger v = new BigInteger(1 + rnd.nextInt(400), rnd);
+                int shift = rnd.nextInt(150);
+                BigNumber n = (i % 3 == 0) ? new BigNumberImpl(v.toString())
+                        : (i % 3 == 1) ? new LimbBigNumberImpl(v.toString()) : new PersistentBigNumberImpl(v.toString());
+                e.plus(n, shift);
+                expected = expected.add(v.multiply(BigInteger.TEN.pow(shift)));
+                if (shift == 0) plain.add(n);
+            }
+            e.plusAll(plain);
+            for (BigNumber n : plain) expected = expected.add(new BigInteger(n.toString()));
+
+            BigNumber result = e.evaluate();
+            assertEquals(expected.toString(), result.toString());
+            assertEquals(expected.toString().length(), result.length());
+        }
+    }
+}
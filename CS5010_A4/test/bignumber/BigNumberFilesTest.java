@@ -0,0 +1,59 @@
+package bignumber;
+
+import org.testng.annotations.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+public class BigNumberFilesTest {
+
+    @Test
+    @DisplayName("write then read round-trips every implementation")
+    public void roundTrip() throws Exception {
+        StringBuilder digits = new StringBuilder("8");
+        for (int i = 0; i < 100_000; i++) digits.append((char) ('0' + (i * 31) % 10));
+        BigNumber[] numbers = {
+                new LimbBigNumberImpl(digits.toString()),
+                new BigNumberImpl(digits.toString()),
+                new ScaledBigNumberImpl("123").shiftLeft(50),
+                new BigNumberImpl()
+        };
+        Path file = Files.createTempFile("bignumber", ".txt");
+        try {
+            for (BigNumber n : numbers) {
+                BigNumberFiles.write(n, file);
+                assertEquals(n.length(), Files.size(file));
+                assertEquals(n.toString(), new String(Files.readAllBytes(file), StandardCharsets.US_ASCII));
+                assertEquals(0, BigNumberFiles.read(file).compareTo(n));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("read accepts leading zeros and one line break, rejects anything else")
+    public void readValidation() throws Exception {
+        Path file = Files.createTempFile("bignumber", ".txt");
+        try {
+            Files.write(file, "000123456789012\r\n".getBytes(StandardCharsets.US_ASCII));
+            assertEquals("123456789012", BigNumberFiles.read(file).toString());
+
+            Files.write(file, "0000".getBytes(StandardCharsets.US_ASCII));
+            assertEquals("0", BigNumberFiles.read(file).toString());
+
+            Files.write(file, "1234 5678".getBytes(StandardCharsets.US_ASCII));
+            assertThrows(IllegalArgumentException.class, () -> BigNumberFiles.read(file));
+
+            Files.write(file, new byte[0]);
+            assertThrows(IllegalArgumentException.class, () -> BigNumberFiles.read(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package bignumber;
+
+import org.testng.annotations.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+
+public class BigNumberHashTest {
+
+    // sum of digit_i * 31^i, the hash documented on BigNumber
+    private static int expectedHash(String digits) {
+        int hash = 0;
+        int power = 1;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            hash += (digits.charAt(i) - '0') * power;
+            power *= 31;
+        }
+        return hash;
+    }
+
+    @Test
+    @DisplayName("equal values are equal and hash alike across all implementations")
+    public void crossImplementation() {
+        String digits = "9081726354000000000001";
+        try (OffHeapBigNumberImpl offHeap = new OffHeapBigNumberImpl(digits)) {
+            BigNumber[] same = {
+                    new BigNumberImpl(digits), new LimbBigNumberImpl(digits), new PersistentBigNumberImpl(digits),
+                    new ScaledBigNumberImpl("9081726354").shiftLeft(12).addDigit(1), offHeap
+            };
+            for (BigNumber a : same) {
+                assertEquals(expectedHash(digits), a.hashCode());
+                for (BigNumber b : same) {
+                    assertEquals(a, b);
+                }
+                assertNotEquals(a, new BigNumberImpl("9081726354000000000002"));
+                assertNotEquals(a, digits);
+            }
+        }
+        assertEquals(0, new BigNumberImpl().hashCode());
+        assertEquals(new ScaledBigNumberImpl("7").shiftLeft(1000), new BigNumberImpl("7").shiftLeft(1000));
+        assertEquals(new ScaledBigNumberImpl("7").shiftLeft(1000).hashCode(), new BigNumberImpl("7").shiftLeft(1000).hashCode());
+    }
+
+    @Test
+    @DisplayName("the cached hash follows addDigit, shiftLeft, shiftRight and copy in every mutable implementation")
+    public void incrementalHash() {
+        checkIncremental(BigNumberImpl::new);
+        checkIncremental(LimbBigNumberImpl::new);
+        checkIncremental(ScaledBigNumberImpl::new);
+        checkIncremental(OffHeapBigNumberImpl::new);
+    }
+
+    // random mutations, with shifts long enough to cross limb boundaries, checked against the recomputed hash
+    private static void checkIncremental(Function<String, BigNumber> make) {
+        Random rnd = new Random(16);
+        BigNumber n = make.apply("1");
+        n.hashCode();
+        for (int step = 0; step < 2000; step++) {
+            BigNumber previous = n;
+            switch (rnd.nextInt(4)) {
+                case 0: n.addDigit(rnd.nextInt(10)); break;
+                case 1: n.shiftLeft(rnd.nextInt(20)); break;
+                case 2: n.shiftRight(rnd.nextInt(12)); break;
+                default: n = n.copy(); break;
+            }
+            // nines force long carries
+            if (step % 97 == 0) n = make.apply("99999999999999999999").shiftLeft(0);
+            if (step % 97 == 1) n.hashCode();
+            if (n != previous && previous instanceof OffHeapBigNumberImpl) {
+                ((OffHeapBigNumberImpl) previous).close();
+            }
+            assertEquals(n.getClass().getSimpleName() + " " + n, expectedHash(n.toString()), n.hashCode());
+        }
+        if (n instanceof OffHeapBigNumberImpl) {
+            ((OffHeapBigNumberImpl) n).close();
+        }
+    }
+
+    @Test
+    @DisplayName("numbers work as HashSet keys for deduplication")
+    public void dedup() {
+        Set<BigNumber> seen = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            seen.add(new BigNumberImpl(Integer.toString(i % 250)).shiftLeft(3));
+        }
+        assertEquals(250, seen.size());
+        assertTrue(seen.contains(new LimbBigNumberImpl("249000")));
+        assertFalse(seen.contains(new LimbBigNumberImpl("250000")));
+    }
+}
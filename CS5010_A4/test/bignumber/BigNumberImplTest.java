@@ -172,4 +172,125 @@ public class BigNumberImplTest {
         assertEquals(a, an.toString());
         assertEquals(b, bn.toString());
     }
+
+    @Test
+    @DisplayName("add / compareTo accept other BigNumber implementations")
+    public void mixesWithOtherImplementations() {
+        BigNumber list = N("99999999999999999999");
+        BigNumber limbs = new LimbBigNumberImpl("1");
+        assertEquals("100000000000000000000", list.add(limbs).toString());
+        assertEquals("100000000000000000000", limbs.add(list).toString());
+
+        assertEquals(0, N("1234567890123").compareTo(new LimbBigNumberImpl("1234567890123")));
+        assertTrue(N("1234567890124").compareTo(new LimbBigNumberImpl("1234567890123")) > 0);
+        assertTrue(new LimbBigNumberImpl("200").compareTo(N("199")) > 0);
+        assertTrue(new LimbBigNumberImpl("99").compareTo(N("100")) < 0);
+    }
+
+    @Test
+    @DisplayName("digits() streams from the least significant digit")
+    public void digitsCursor() {
+        java.util.PrimitiveIterator.OfInt it = N("32411").digits();
+        StringBuilder seen = new StringBuilder();
+        while (it.hasNext()) seen.append(it.nextInt());
+        assertEquals("11423", seen.toString());
+        assertThrows(java.util.NoSuchElementException.class, it::nextInt);
+    }
+
+    @Test
+    @DisplayName("multiply: small products, zero, and operands left untouched")
+    public void multiplySmall() {
+        BigNumber a = N("32411");
+        BigNumber b = N("589");
+        assertEquals("19090079", a.multiply(b).toString());
+        assertEquals("32411", a.toString());
+        assertEquals("589", b.toString());
+
+        assertEquals("0", a.multiply(new BigNumberImpl()).toString());
+        assertEquals(1, a.multiply(new BigNumberImpl()).length());
+        assertEquals("32411", a.multiply(N("1")).toString());
+        assertEquals("98010000000000019800000000000001",
+                N("9900000000000001").multiply(N("9900000000000001")).toString());
+    }
+
+    @Test
+    @DisplayName("multiply cross-check with BigInteger across the Karatsuba / Toom-3 thresholds")
+    public void multiplyLargeCrossCheck() {
+        java.util.Random rnd = new java.util.Random(5010);
+        for (int digits : new int[] {50, 1_500, 5_000, 12_000}) {
+            StringBuilder x = new StringBuilder("7");
+            StringBuilder y = new StringBuilder("3");
+            for (int i = 1; i < digits; i++) {
+                x.append(rnd.nextInt(10));
+                y.append(rnd.nextInt(10));
+            }
+            BigInteger expected = new BigInteger(x.toString()).multiply(new BigInteger(y.toString()));
+            assertEquals(expected.toString(), N(x.toString()).multiply(N(y.toString())).toString());
+            // mixed representations give the same product
+            assertEquals(expected.toString(),
+                    new LimbBigNumberImpl(x.toString()).multiply(N(y.toString())).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("divide / remainder / divMod: small cases and division by zero")
+    public void divisionBasics() {
+        BigNumber a = N("19090079");
+        assertEquals("32411", a.divide(N("589")).toString());
+        assertEquals("0", a.remainder(N("589")).toString());
+        assertEquals("19090079", a.toString()); // operand unchanged
+
+        BigNumber[] qr = N("1000").divMod(N("7"));
+        assertEquals("142", qr[0].toString());
+        assertEquals("6", qr[1].toString());
+
+        // dividend smaller than divisor
+        assertEquals("0", N("5").divide(N("12")).toString());
+        assertEquals("5", N("5").remainder(N("12")).toString());
+
+        assertThrows(IllegalArgumentException.class, () -> N("5").divide(new BigNumberImpl()));
+        assertThrows(IllegalArgumentException.class, () -> N("5").divMod(N("000")));
+    }
+
+    @Test
+    @DisplayName("divMod cross-check with BigInteger for Knuth and Newton sized operands")
+    public void divisionCrossCheck() {
+        java.util.Random rnd = new java.util.Random(4);
+        int[][] sizes = {{40, 20}, {200, 19}, {900, 450}, {16_000, 7_000}};
+        for (int[] size : sizes) {
+            StringBuilder x = new StringBuilder("9");
+            StringBuilder y = new StringBuilder("4");
+            for (int i = 1; i < size[0]; i++) x.append(rnd.nextInt(10));
+            for (int i = 1; i < size[1]; i++) y.append(rnd.nextInt(10));
+            BigInteger[] expected = new BigInteger(x.toString()).divideAndRemainder(new BigInteger(y.toString()));
+            BigNumber[] actual = N(x.toString()).divMod(new LimbBigNumberImpl(y.toString()));
+            assertEquals(expected[0].toString(), actual[0].toString());
+            assertEquals(expected[1].toString(), actual[1].toString());
+        }
+    }
+
+    @Test
+    @DisplayName("getChars / appendTo write the same digits as toString")
+    public void bufferedOutput() throws Exception {
+        BigNumberImpl x = new BigNumberImpl("9876543210");
+
+        char[] buf = new char[14];
+        java.util.Arrays.fill(buf, '#');
+        assertEquals(10, x.getChars(buf, 2));
+        assertEquals("##9876543210##", new String(buf));
+        assertThrows(IllegalArgumentException.class, () -> x.getChars(new char[12], 3));
+
+        assertEquals("n=9876543210", x.appendTo(new StringBuilder("n=")).toString());
+        assertEquals("9876543210", x.appendTo(new java.io.StringWriter()).toString());
+        assertEquals("0", new BigNumberImpl().appendTo(new StringBuilder()).toString());
+    }
+
+    @Test
+    @DisplayName("compareTo: same length, difference only in low or high digits")
+    public void compareToSameLength() {
+        assertTrue(N("90000001").compareTo(N("10000009")) > 0);
+        assertTrue(N("10000009").compareTo(N("90000001")) < 0);
+        assertTrue(N("12345679").compareTo(N("12345678")) > 0);
+        assertEquals(0, N("12345678").compareTo(N("00012345678")));
+    }
 }
@@ -0,0 +1,65 @@
+package bignumber;
+
+import org.testng.annotations.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+
+
+public class BigNumberMathTest {
+
+    private static BigInteger factorialOf(int n) {
+        BigInteger f = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) f = f.multiply(BigInteger.valueOf(i));
+        return f;
+    }
+
+    @Test
+    @DisplayName("pow agrees with BigInteger, including 0^0 and x^0")
+    public void pow() {
+        assertEquals("1", BigNumberMath.pow(new BigNumberImpl(), 0).toString());
+        assertEquals("0", BigNumberMath.pow(new BigNumberImpl(), 5).toString());
+        assertEquals("1", BigNumberMath.pow(new BigNumberImpl("987"), 0).toString());
+        assertEquals("987", BigNumberMath.pow(new BigNumberImpl("987"), 1).toString());
+        BigInteger base = new BigInteger("123456789123456789");
+        for (int e : new int[] {2, 3, 17, 100, 513}) {
+            assertEquals(base.pow(e).toString(), BigNumberMath.pow(new LimbBigNumberImpl(base.toString()), e).toString());
+        }
+        assertThrows(IllegalArgumentException.class, () -> BigNumberMath.pow(new BigNumberImpl("2"), -1));
+        assertThrows(IllegalArgumentException.class, () -> BigNumberMath.pow(null, 2));
+    }
+
+    @Test
+    @DisplayName("factorial agrees with the plain product, on the common pool and on a given pool")
+    public void factorial() {
+        assertEquals("1", BigNumberMath.factorial(0).toString());
+        assertEquals("1", BigNumberMath.factorial(1).toString());
+        assertEquals("3628800", BigNumberMath.factorial(10).toString());
+        for (int n : new int[] {2, 25, 100, 1000, 5000}) {
+            assertEquals(factorialOf(n).toString(), BigNumberMath.factorial(n).toString());
+        }
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            assertEquals(factorialOf(20000).toString(), BigNumberMath.factorial(20000, pool).toString());
+        } finally {
+            pool.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> BigNumberMath.factorial(-1));
+    }
+
+    @Test
+    @DisplayName("binomial agrees with n! / (k! (n-k)!), and is 0 for k > n")
+    public void binomial() {
+        assertEquals("1", BigNumberMath.binomial(0, 0).toString());
+        assertEquals("10", BigNumberMath.binomial(5, 2).toString());
+        assertEquals("0", BigNumberMath.binomial(5, 6).toString());
+        for (int[] nk : new int[][] {{1, 1}, {10, 0}, {100, 50}, {1000, 3}, {3000, 1499}}) {
+            BigInteger expected = factorialOf(nk[0]).divide(factorialOf(nk[1]).multiply(factorialOf(nk[0] - nk[1])));
+            assertEquals(expected.toString(), BigNumberMath.binomial(nk[0], nk[1]).toString());
+        }
+        assertThrows(IllegalArgumentException.class, () -> BigNumberMath.binomial(5, -1));
+    }
+}
@@ -0,0 +1,162 @@
+package bignumber;
+
+import org.testng.annotations.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+
+
+public class LimbBigNumberImplTest {
+
+    private static BigNumber N(String s) { return new LimbBigNumberImpl(s); }
+
+    @Test
+    @DisplayName("no-arg constructor makes canonical zero")
+    public void ctorNoArgIsZero() {
+        BigNumber z = new LimbBigNumberImpl();
+        assertEquals(1, z.length());
+        assertEquals("0", z.toString());
+        assertEquals("0", z.copy().shiftLeft(10).toString());
+        assertEquals("0", z.copy().shiftRight(10).toString());
+    }
+
+    @Test
+    @DisplayName("string constructor: trims leading zeros, validates digits, spans limbs")
+    public void ctorStringValidation() {
+        assertEquals("0", N("000000").toString());
+        assertEquals(1, N("000000").length());
+        assertEquals("12345", N("00012345").toString());
+
+        // exactly one limb, one digit over, and several limbs with inner zero limbs
+        assertEquals("999999999", N("999999999").toString());
+        assertEquals("1000000000", N("1000000000").toString());
+        assertEquals(10, N("1000000000").length());
+        assertEquals("1000000000000000000001", N("1000000000000000000001").toString());
+
+        assertThrows(IllegalArgumentException.class, () -> new LimbBigNumberImpl(null));
+        assertThrows(IllegalArgumentException.class, () -> N(""));
+        assertThrows(IllegalArgumentException.class, () -> N("12a34"));
+        assertThrows(IllegalArgumentException.class, () -> N("-123"));
+    }
+
+    @Test
+    @DisplayName("getDigitAt across limb boundaries")
+    public void getDigitAtAcrossLimbs() {
+        BigNumber x = N("12345678901234567890");
+        String s = x.toString();
+        for (int pos = 0; pos < s.length(); pos++) {
+            assertEquals(s.charAt(s.length() - 1 - pos) - '0', x.getDigitAt(pos));
+        }
+        assertThrows(IllegalArgumentException.class, () -> x.getDigitAt(-1));
+        assertThrows(IllegalArgumentException.class, () -> x.getDigitAt(20));
+    }
+
+    @Test
+    @DisplayName("shiftLeft / shiftRight by partial and whole limbs")
+    public void shiftsWork() {
+        BigNumber x = N("32411");
+        assertEquals("324110", x.copy().shiftLeft(1).toString());
+        assertEquals("32411" + "0".repeat(9), x.copy().shiftLeft(9).toString());
+        assertEquals("32411" + "0".repeat(23), x.copy().shiftLeft(23).toString());
+        assertEquals(28, x.copy().shiftLeft(23).length());
+
+        BigNumber y = N("123456789012345678901234567890");
+        assertEquals("12345678901234567890123456789", y.copy().shiftRight(1).toString());
+        assertEquals("123456789012345678901", y.copy().shiftRight(9).toString());
+        assertEquals("1234567", y.copy().shiftRight(23).toString());
+        assertEquals("0", y.copy().shiftRight(30).toString());
+
+        assertEquals("3241", x.copy().shiftLeft(-1).toString());
+        assertEquals("324110", x.copy().shiftRight(-1).toString());
+    }
+
+    @Test
+    @DisplayName("addDigit carries through whole limbs")
+    public void addDigitWithCarry() {
+        BigNumber b = new LimbBigNumberImpl();
+        b.shiftLeft(1).addDigit(3);
+        b.shiftLeft(1).addDigit(2);
+        assertEquals("32", b.toString());
+
+        BigNumber n = N("999999999999999999");
+        n.addDigit(7);
+        assertEquals("1000000000000000006", n.toString());
+        assertEquals(19, n.length());
+
+        assertThrows(IllegalArgumentException.class, () -> N("5").addDigit(10));
+    }
+
+    @Test
+    @DisplayName("add, copy and compareTo")
+    public void addCopyCompare() {
+        BigNumber a = N("32411");
+        BigNumber b = N("589");
+        assertEquals("33000", a.add(b).toString());
+        assertEquals("32411", a.toString());
+
+        BigNumber c = a.copy();
+        a.shiftLeft(1).addDigit(9);
+        assertEquals(5, c.length());
+        assertEquals("32411", c.toString());
+
+        assertTrue(N("1000000000").compareTo(N("999999999")) > 0);
+        assertTrue(N("1000000001").compareTo(N("1000000002")) < 0);
+        assertEquals(0, N("0").compareTo(N("000")));
+    }
+
+    @Test
+    @DisplayName("random big addition cross-check with BigInteger")
+    public void bigAdditionCrossCheck() {
+        String a = "9876543210987654321098765432109876543210";
+        String b = "1234567890123456789012345678901234567890";
+        BigInteger si = new BigInteger(a).add(new BigInteger(b));
+        assertEquals(si.toString(), N(a).add(N(b)).toString());
+        assertEquals("100000000000000000000",
+                N("99999999999999999999").add(N("1")).toString());
+    }
+
+    @Test
+    @DisplayName("multiply carries across limbs")
+    public void multiplyAcrossLimbs() {
+        assertEquals("999999998000000001", N("999999999").multiply(N("999999999")).toString());
+        assertEquals("0", N("123456789012").multiply(N("0")).toString());
+        BigInteger expected = new BigInteger("123456789012345678901234567890")
+                .multiply(new BigInteger("987654321098765432109876543210"));
+        assertEquals(expected.toString(),
+                N("123456789012345678901234567890").multiply(N("987654321098765432109876543210")).toString());
+    }
+
+    @Test
+    @DisplayName("divMod with multi-limb divisors")
+    public void divModAcrossLimbs() {
+        BigNumber[] qr = N("999999998000000001").divMod(N("999999999"));
+        assertEquals("999999999", qr[0].toString());
+        assertEquals("0", qr[1].toString());
+
+        BigInteger x = new BigInteger("123456789012345678901234567890123456789");
+        BigInteger y = new BigInteger("98765432109876543210");
+        assertEquals(x.divide(y).toString(), N(x.toString()).divide(N(y.toString())).toString());
+        assertEquals(x.mod(y).toString(), N(x.toString()).remainder(N(y.toString())).toString());
+        assertThrows(IllegalArgumentException.class, () -> N("1").remainder(N("0")));
+    }
+
+    @Test
+    @DisplayName("bulk parsing: invalid characters anywhere in an 8-digit block, long round trips")
+    public void bulkParseAndFormat() {
+        for (int pos = 0; pos < 20; pos++) {
+            StringBuilder s = new StringBuilder("12345678901234567890");
+            s.setCharAt(pos, ':');
+            final String bad = s.toString();
+            assertThrows(IllegalArgumentException.class, () -> N(bad));
+            assertThrows(IllegalArgumentException.class, () -> new BigNumberImpl(bad));
+        }
+        assertThrows(IllegalArgumentException.class, () -> N("1234567\u0661234"));   // Arabic-Indic digit one
+
+        StringBuilder digits = new StringBuilder("7");
+        for (int i = 0; i < 10_000; i++) digits.append((char) ('0' + (i * 7919) % 10));
+        assertEquals(digits.toString(), N(digits.toString()).toString());
+        assertEquals(digits.toString(), new BigNumberImpl(digits.toString()).toString());
+    }
+}
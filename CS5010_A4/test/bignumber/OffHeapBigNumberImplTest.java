@@ -0,0 +1,132 @@
+package bignumber;
+
+import org.testng.annotations.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.Assert.*;
+
+import java.lang.foreign.Arena;
+import java.math.BigInteger;
+import java.util.Random;
+
+
+public class OffHeapBigNumberImplTest {
+
+    @Test
+    @DisplayName("constructors: canonical zero, leading zeros, validation")
+    public void constructors() {
+        try (OffHeapBigNumberImpl zero = new OffHeapBigNumberImpl();
+             OffHeapBigNumberImpl zeros = new OffHeapBigNumberImpl("0000");
+             OffHeapBigNumberImpl n = new OffHeapBigNumberImpl("0001234567890")) {
+            assertEquals("0", zero.toString());
+            assertEquals("0", zeros.toString());
+            assertEquals("1234567890", n.toString());
+            assertEquals(10, n.length());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapBigNumberImpl(null));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapBigNumberImpl("12a"));
+    }
+
+    @Test
+    @DisplayName("shifts and addDigit mutate in place, growing the segment as needed")
+    public void inPlaceOperations() {
+        try (OffHeapBigNumberImpl x = new OffHeapBigNumberImpl("32411")) {
+            x.shiftLeft(30);
+            assertEquals("32411" + "0".repeat(30), x.toString());
+            x.addDigit(7);
+            assertEquals(7, x.getDigitAt(0));
+            assertEquals(3, x.getDigitAt(34));
+            x.shiftRight(29);
+            assertEquals("324110", x.toString());
+            x.shiftRight(100);
+            assertEquals("0", x.toString());
+        }
+        try (OffHeapBigNumberImpl nines = new OffHeapBigNumberImpl("999999999999999999")) {
+            nines.addDigit(1);
+            assertEquals("1" + "0".repeat(18), nines.toString());
+            assertEquals(19, nines.length());
+        }
+    }
+
+    @Test
+    @DisplayName("arithmetic agrees with BigInteger, also against other implementations")
+    public void arithmeticCrossCheck() {
+        Random rnd = new Random(13);
+        for (int t = 0; t < 100; t++) {
+            BigInteger ai = new BigInteger(1 + rnd.nextInt(3000), rnd);
+            BigInteger bi = new BigInteger(1 + rnd.nextInt(3000), rnd).add(BigInteger.ONE);
+            try (OffHeapBigNumberImpl a = new OffHeapBigNumberImpl(ai.toString());
+                 OffHeapBigNumberImpl b = OffHeapBigNumberImpl.copyOf(new BigNumberImpl(bi.toString()))) {
+                assertEquals(ai.add(bi).toString(), a.add(b).toString());
+                assertEquals(ai.add(bi).toString(), a.add(new LimbBigNumberImpl(bi.toString())).toString());
+                assertEquals(ai.add(bi).toString(), a.add(new BigNumberImpl(bi.toString())).toString());
+                assertEquals(ai.multiply(bi).toString(), a.multiply(b).toString());
+                assertEquals(ai.divide(bi).toString(), a.divide(b).toString());
+                assertEquals(ai.mod(bi).toString(), a.remainder(b).toString());
+                assertEquals(Integer.signum(ai.compareTo(bi)), Integer.signum(a.compareTo(b)));
+                assertEquals(0, a.compareTo(new LimbBigNumberImpl(ai.toString())));
+                assertEquals(0, new BigNumberImpl(ai.toString()).compareTo(a));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("copy() owns its memory, and a closed number cannot be read")
+    public void copyAndClose() {
+        OffHeapBigNumberImpl a = new OffHeapBigNumberImpl("12345678901234567890");
+        BigNumber c = a.copy();
+        a.addDigit(9);
+        a.close();
+        a.close();
+        assertEquals("12345678901234567890", c.toString());
+        assertThrows(IllegalStateException.class, () -> a.getDigitAt(0));
+        ((OffHeapBigNumberImpl) c).close();
+    }
+
+    @Test
+    @DisplayName("results in a caller's arena are released together when it closes")
+    public void callerArena() {
+        OffHeapBigNumberImpl sum;
+        try (Arena arena = Arena.ofConfined();
+             OffHeapBigNumberImpl a = new OffHeapBigNumberImpl("123456789123456789")) {
+            // the product is an intermediate nobody closes; the arena frees it
+            sum = a.multiply(new LimbBigNumberImpl("1000000007"), arena).add(new BigNumberImpl("5"), arena);
+            assertEquals("123456789987654312864197528", sum.toString());
+            sum.close();
+            assertEquals(27, sum.length());
+            sum.shiftLeft(40).addDigit(3);
+            assertEquals("123456789987654312864197528" + "0".repeat(39) + "3", sum.toString());
+
+            OffHeapBigNumberImpl[] qr = sum.divMod(new BigNumberImpl("7"), arena);
+            BigInteger s = new BigInteger(sum.toString());
+            assertEquals(s.divide(BigInteger.valueOf(7)).toString(), qr[0].toString());
+            assertEquals(s.mod(BigInteger.valueOf(7)).toString(), qr[1].toString());
+            assertEquals("42", OffHeapBigNumberImpl.copyOf(new BigNumberImpl("42"), arena).toString());
+            assertThrows(IllegalArgumentException.class, () -> a.add(a, null));
+        }
+        assertThrows(IllegalStateException.class, () -> sum.getDigitAt(0));
+    }
+
+    @Test
+    @DisplayName("segment kernels and heap kernels agree with BigInteger on both sides of the threshold")
+    public void kernelPaths() {
+        Random rnd = new Random(113);
+        int[] bits = {30, 2000, 4000, 20000};
+        for (int aBits : bits) {
+            for (int bBits : bits) {
+                BigInteger ai = new BigInteger(aBits, rnd).setBit(aBits - 1);
+                BigInteger bi = new BigInteger(bBits, rnd).setBit(bBits - 1);
+                try (Arena arena = Arena.ofShared();
+                     OffHeapBigNumberImpl a = new OffHeapBigNumberImpl(ai.toString())) {
+                    assertEquals(ai.multiply(bi).toString(), a.multiply(new LimbBigNumberImpl(bi.toString()), arena).toString());
+                    assertEquals(ai.multiply(bi).toString(), a.multiply(new BigNumberImpl(bi.toString()), arena).toString());
+                    OffHeapBigNumberImpl[] qr = a.divMod(OffHeapBigNumberImpl.copyOf(new BigNumberImpl(bi.toString()), arena), arena);
+                    assertEquals(ai.divide(bi).toString(), qr[0].toString());
+                    assertEquals(ai.mod(bi).toString(), qr[1].toString());
+                    assertEquals("0", a.multiply(new BigNumberImpl(), arena).toString());
+                    assertThrows(IllegalArgumentException.class, () -> a.divMod(new LimbBigNumberImpl(), arena));
+                }
+            }
+        }
+    }
+}
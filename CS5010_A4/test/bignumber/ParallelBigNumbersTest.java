@@ -0,0 +1,57 @@
+package bignumber;
+
+import org.testng.annotations.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+
+public class ParallelBigNumbersTest {
+
+    private static List<BigNumber> randomValues(int count, List<BigInteger> mirror) {
+        Random rnd = new Random(8);
+        List<BigNumber> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder digits = new StringBuilder();
+            int n = 1 + rnd.nextInt(30);
+            for (int j = 0; j < n; j++) digits.append(rnd.nextInt(10));
+            values.add(i % 3 == 0 ? new BigNumberImpl(digits.toString()) : new LimbBigNumberImpl(digits.toString()));
+            mirror.add(new BigInteger(digits.toString()));
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("sum / max / min over many values match BigInteger")
+    public void reductionsCrossCheck() {
+        List<BigInteger> mirror = new ArrayList<>();
+        List<BigNumber> values = randomValues(20_000, mirror);
+
+        BigInteger expected = mirror.stream().reduce(BigInteger.ZERO, BigInteger::add);
+        assertEquals(expected.toString(), ParallelBigNumbers.sum(values).toString());
+        assertEquals(expected.toString(), ParallelBigNumbers.sum(values.parallelStream()).toString());
+
+        assertEquals(Collections.max(mirror).toString(), ParallelBigNumbers.max(values).toString());
+        assertEquals(Collections.min(mirror).toString(), ParallelBigNumbers.min(values.stream()).toString());
+    }
+
+    @Test
+    @DisplayName("empty and invalid inputs")
+    public void emptyAndInvalid() {
+        assertEquals("0", ParallelBigNumbers.sum(new ArrayList<>()).toString());
+        assertThrows(NoSuchElementException.class, () -> ParallelBigNumbers.max(new ArrayList<>()));
+        assertThrows(IllegalArgumentException.class, () -> ParallelBigNumbers.sum((List<BigNumber>) null));
+
+        List<BigNumber> withNull = new ArrayList<>();
+        withNull.add(new BigNumberImpl("1"));
+        withNull.add(null);
+        assertThrows(IllegalArgumentException.class, () -> ParallelBigNumbers.sum(withNull));
+    }
+}
@@ -0,0 +1,89 @@
+package bignumber;
+
+import org.testng.annotations.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+
+public class PersistentBigNumberImplTest {
+
+    private static BigNumber N(String s) { return new PersistentBigNumberImpl(s); }
+
+    @Test
+    @DisplayName("constructors: canonical zero, leading zeros, validation")
+    public void constructors() {
+        assertEquals("0", new PersistentBigNumberImpl().toString());
+        assertEquals("0", N("0000").toString());
+        assertEquals("1200", N("0001200").toString());
+        assertEquals(4, N("0001200").length());
+
+        assertThrows(IllegalArgumentException.class, () -> new PersistentBigNumberImpl(null));
+        assertThrows(IllegalArgumentException.class, () -> N(""));
+        assertThrows(IllegalArgumentException.class, () -> N("12a00"));
+    }
+
+    @Test
+    @DisplayName("shifts and addDigit return new numbers and leave the original alone")
+    public void operationsDoNotMutate() {
+        BigNumber x = N("32411");
+        assertEquals("3241100", x.shiftLeft(2).toString());
+        assertEquals("324", x.shiftRight(2).toString());
+        assertEquals("0", x.shiftRight(5).toString());
+        assertEquals("32420", x.addDigit(9).toString());
+        assertEquals("32411", x.toString());
+        assertSame(x, x.copy());
+
+        assertEquals("1000", N("999").addDigit(1).toString());
+        assertEquals(4, N("999").addDigit(1).length());
+        assertEquals("5", new PersistentBigNumberImpl().addDigit(5).toString());
+        assertEquals("0", new PersistentBigNumberImpl().shiftLeft(3).toString());
+        assertThrows(IllegalArgumentException.class, () -> N("5").addDigit(10));
+    }
+
+    @Test
+    @DisplayName("chained addDigit after shiftLeft builds a number digit by digit")
+    public void buildByDigits() {
+        BigNumber b = new PersistentBigNumberImpl();
+        for (char c : "9081726354".toCharArray()) {
+            b = b.shiftLeft(1).addDigit(c - '0');
+        }
+        assertEquals("9081726354", b.toString());
+    }
+
+    @Test
+    @DisplayName("arithmetic and ordering agree with BigInteger, also against other implementations")
+    public void arithmeticCrossCheck() {
+        Random rnd = new Random(12);
+        for (int t = 0; t < 200; t++) {
+            BigInteger ai = new BigInteger(1 + rnd.nextInt(200), rnd);
+            BigInteger bi = new BigInteger(1 + rnd.nextInt(200), rnd).add(BigInteger.ONE);
+            BigNumber a = N(ai.toString());
+            BigNumber b = N(bi.toString());
+
+            assertEquals(ai.add(bi).toString(), a.add(b).toString());
+            assertEquals(ai.add(bi).toString().length(), a.add(b).length());
+            assertEquals(ai.add(bi).toString(), a.add(new LimbBigNumberImpl(bi.toString())).toString());
+            assertEquals(ai.multiply(bi).toString(), a.multiply(b).toString());
+            assertEquals(ai.divide(bi).toString(), a.divide(b).toString());
+            assertEquals(ai.mod(bi).toString(), a.remainder(b).toString());
+            assertEquals(Integer.signum(ai.compareTo(bi)), Integer.signum(a.compareTo(b)));
+            assertEquals(0, a.compareTo(new BigNumberImpl(ai.toString())));
+        }
+    }
+
+    @Test
+    @DisplayName("numbers that share a tail compare and add correctly")
+    public void sharedTails() {
+        BigNumber base = N("7000000000000000000001");
+        BigNumber a = base.addDigit(5);
+        BigNumber b = base.addDigit(3);
+        assertTrue(a.compareTo(b) > 0);
+        assertEquals(0, a.compareTo(b.addDigit(2)));
+        assertEquals("14000000000000000000010", a.add(b).toString());
+        assertEquals("7000000000000000000001", base.toString());
+    }
+}
@@ -0,0 +1,111 @@
+package bignumber;
+
+import org.testng.annotations.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+
+
+public class ScaledBigNumberImplTest {
+
+    private static BigNumber N(String s) { return new ScaledBigNumberImpl(s); }
+
+    @Test
+    @DisplayName("constructors: canonical zero, trailing zeros, validation")
+    public void constructors() {
+        assertEquals("0", new ScaledBigNumberImpl().toString());
+        assertEquals("0", N("0000").toString());
+        assertEquals(1, N("0000").length());
+        assertEquals("1200", N("0001200").toString());
+        assertEquals(4, N("0001200").length());
+
+        assertThrows(IllegalArgumentException.class, () -> new ScaledBigNumberImpl(null));
+        assertThrows(IllegalArgumentException.class, () -> N(""));
+        assertThrows(IllegalArgumentException.class, () -> N("12a00"));
+    }
+
+    @Test
+    @DisplayName("huge shifts keep length and digits without writing zeros")
+    public void hugeShifts() {
+        BigNumber x = N("32411").shiftLeft(5_000_000);
+        assertEquals(5_000_005, x.length());
+        assertEquals(3, x.getDigitAt(5_000_004));
+        assertEquals(1, x.getDigitAt(5_000_000));
+        assertEquals(0, x.getDigitAt(0));
+
+        x.shiftRight(5_000_002);
+        assertEquals("324", x.toString());
+        x.shiftRight(-2);
+        assertEquals("32400", x.toString());
+        assertEquals("0", x.shiftRight(99).toString());
+    }
+
+    @Test
+    @DisplayName("shifts near Integer.MAX_VALUE neither overflow nor corrupt the number")
+    public void extremeShifts() {
+        BigNumber x = N("123");
+        x.shiftRight(1);
+        assertEquals("0", x.shiftRight(Integer.MAX_VALUE).toString());
+        assertEquals(1, x.length());
+        assertEquals("0", N("123").shiftLeft(40).shiftRight(43).toString());
+        assertEquals("1", N("123").shiftLeft(40).shiftRight(42).toString());
+
+        BigNumber y = N("123");
+        assertThrows(IllegalArgumentException.class, () -> y.shiftLeft(Integer.MAX_VALUE));
+        assertEquals("123", y.toString());
+        assertEquals(3, y.length());
+        y.shiftLeft(Integer.MAX_VALUE - 3);
+        assertEquals(Integer.MAX_VALUE, y.length());
+        assertEquals(1, y.getDigitAt(Integer.MAX_VALUE - 1));
+        assertThrows(IllegalArgumentException.class, () -> y.shiftLeft(1));
+        assertEquals(Integer.MAX_VALUE, y.length());
+        assertEquals("0", y.shiftRight(Integer.MAX_VALUE).toString());
+    }
+
+    @Test
+    @DisplayName("addDigit writes the implicit zeros out only when needed")
+    public void addDigitAfterShift() {
+        BigNumber b = new ScaledBigNumberImpl();
+        b.shiftLeft(1).addDigit(3);
+        b.shiftLeft(1).addDigit(2);
+        b.shiftLeft(1).addDigit(0);
+        assertEquals("320", b.toString());
+
+        BigNumber n = N("99").shiftLeft(3);
+        n.addDigit(7);
+        assertEquals("99007", n.toString());
+        assertThrows(IllegalArgumentException.class, () -> N("5").addDigit(10));
+    }
+
+    @Test
+    @DisplayName("arithmetic and ordering agree with BigInteger, also against other implementations")
+    public void arithmeticCrossCheck() {
+        BigNumber a = N("123").shiftLeft(40);
+        BigNumber b = N("456").shiftLeft(35);
+        BigInteger ai = new BigInteger("123").multiply(BigInteger.TEN.pow(40));
+        BigInteger bi = new BigInteger("456").multiply(BigInteger.TEN.pow(35));
+
+        assertEquals(ai.add(bi).toString(), a.add(b).toString());
+        assertEquals(ai.multiply(bi).toString(), a.multiply(b).toString());
+        assertEquals(ai.divide(bi).toString(), a.divide(b).toString());
+        assertEquals(ai.mod(bi).toString(), a.remainder(b).toString());
+        assertEquals(ai.add(new BigInteger("99")).toString(), a.add(new BigNumberImpl("99")).toString());
+
+        assertTrue(a.compareTo(b) > 0);
+        assertTrue(b.compareTo(a) < 0);
+        assertEquals(0, a.compareTo(new LimbBigNumberImpl(ai.toString())));
+        assertEquals(0, new BigNumberImpl(ai.toString()).compareTo(a));
+    }
+
+    @Test
+    @DisplayName("copy() is independent")
+    public void copyIsDeep() {
+        BigNumber a = N("12345").shiftLeft(10);
+        BigNumber c = a.copy();
+        a.addDigit(9);
+        assertEquals("123450000000009", a.toString());
+        assertEquals("123450000000000", c.toString());
+    }
+}
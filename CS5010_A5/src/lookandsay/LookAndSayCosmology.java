@@ -0,0 +1,302 @@
+package lookandsay;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lengths and digit frequencies of look-and-say terms without building their digits,
+ * after Conway's cosmological decomposition.
+ *
+ * A term splits into atoms ("elements") that evolve independently of their neighbours forever,
+ * and each atom decays in one step into a fixed sequence of atoms. A term is then just a vector
+ * of atom counts, and one step is a multiplication by the decay table, so term n costs O(n) vector
+ * steps however many digits it has. From seed 1 the atoms quickly become Conway's 92 common
+ * elements (hydrogen 22, helium 13112221133211322112211213322112, ...).
+ *
+ * digitAt reads one digit of a term the same way: a table of how long every atom is after m steps
+ * says which atom of the seed the digit descends from, then which of that atom's decay products,
+ * and so on down n levels to a single digit of a single atom.
+ *
+ * The atoms are not a hard-coded table: they are found by splitting the seed and the decay
+ * products as they appear, so any valid seed works. Terms are numbered by steps from the seed:
+ * term 0 is the seed itself, term 1 is the first term next() computes from it, and so on.
+ */
+public class LookAndSayCosmology {
+    // a boundary L.R splits iff the last digit of L never equals the first digit of R's descendants;
+    // that first digit settles into a short cycle within a few days, so this many days decide it
+    private static final int SPLIT_HORIZON = 24;
+    // digits of R's prefix followed per day by the splitting test (retried wider if it runs out)
+    private static final int PREFIX_WIDTH = 32;
+
+    // atom registry: id -> digits, digit counts and (once needed) the ids of its decay products
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<byte[]> atoms = new ArrayList<>();
+    private final List<int[]> frequencies = new ArrayList<>();
+    private final List<int[]> decays = new ArrayList<>();
+
+    // the atoms of the seed, in order
+    private final int[] seedAtoms;
+    // counts.get(n)[id] is how often atom id occurs in term n (null for none)
+    private final List<BigInteger[]> counts = new ArrayList<>();
+    // lengths.get(m)[id] is the length of what atom id becomes after m steps; built once the registry is closed
+    private final List<BigInteger[]> lengths = new ArrayList<>();
+
+    /**
+     * Start from seed, validated as in LookAndSayIterator.
+     * @throws IllegalArgumentException if seed is null, not positive or contains a zero
+     */
+    public LookAndSayCosmology(BigInteger seed) {
+        byte[] digits = LookAndSayEngine.seedDigits(seed);
+        seedAtoms = decompose(digits);
+        BigInteger[] initial = new BigInteger[0];
+        for (int id : seedAtoms) {
+            initial = addCount(initial, id, BigInteger.ONE);
+        }
+        counts.add(initial);
+    }
+
+    /**
+     * Number of digits of term n.
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger length(int n) {
+        BigInteger[] term = countsOf(n);
+        BigInteger length = BigInteger.ZERO;
+        for (int id = 0; id < term.length; id++) {
+            if (term[id] != null) {
+                length = length.add(term[id].multiply(BigInteger.valueOf(atoms.get(id).length)));
+            }
+        }
+        return length;
+    }
+
+    /**
+     * How often each digit occurs in term n: result[d] counts digit d, for d = 0..9.
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger[] digitFrequencies(int n) {
+        BigInteger[] term = countsOf(n);
+        BigInteger[] result = new BigInteger[10];
+        Arrays.fill(result, BigInteger.ZERO);
+        for (int id = 0; id < term.length; id++) {
+            if (term[id] == null) continue;
+            int[] f = frequencies.get(id);
+            for (int d = 0; d < 10; d++) {
+                if (f[d] != 0) {
+                    result[d] = result[d].add(term[id].multiply(BigInteger.valueOf(f[d])));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of distinct atoms in term n (from seed 1, eventually the 92 common elements).
+     * @throws IllegalArgumentException if n is negative
+     */
+    public int elementCount(int n) {
+        int distinct = 0;
+        for (BigInteger c : countsOf(n)) {
+            if (c != null) distinct++;
+        }
+        return distinct;
+    }
+
+    /**
+     * Digit k (0 is the most significant) of term n of seed, without building the term.
+     * @throws IllegalArgumentException if seed is invalid as for the constructor, n is negative,
+     *         or k is not an index of term n
+     */
+    public static int digitAt(BigInteger seed, int n, BigInteger k) {
+        return new LookAndSayCosmology(seed).digitAt(n, k);
+    }
+
+    /**
+     * Digit k (0 is the most significant) of term n, without building the term.
+     * Costs O(n) steps of a descent through the atoms; tables built for one call are reused by the next.
+     * @throws IllegalArgumentException if n is negative, or k is null or not an index of term n
+     */
+    public int digitAt(int n, BigInteger k) {
+        if (k == null) {
+            throw new IllegalArgumentException("k must be non-null.");
+        }
+        BigInteger[] layer = lengthsAt(n);
+        // the seed atom that digit k of term n descends from
+        int atom = -1;
+        BigInteger offset = k;
+        if (offset.signum() >= 0) {
+            for (int id : seedAtoms) {
+                if (offset.compareTo(layer[id]) < 0) {
+                    atom = id;
+                    break;
+                }
+                offset = offset.subtract(layer[id]);
+            }
+        }
+        if (atom < 0) {
+            throw new IllegalArgumentException("k must be at least 0 and less than the length of term " + n + ".");
+        }
+        // then, one step at a time, the decay product it descends from
+        for (int m = n; m > 0; m--) {
+            BigInteger[] below = lengths.get(m - 1);
+            for (int product : decay(atom)) {
+                if (offset.compareTo(below[product]) < 0) {
+                    atom = product;
+                    break;
+                }
+                offset = offset.subtract(below[product]);
+            }
+        }
+        return atoms.get(atom)[offset.intValueExact()] - '0';
+    }
+
+    /* ------------------ helpers ------------------ */
+
+    // length of every atom after m steps, building the table up to m
+    private BigInteger[] lengthsAt(int m) {
+        if (m < 0) {
+            throw new IllegalArgumentException("n must not be negative.");
+        }
+        if (lengths.isEmpty()) {
+            // decay every atom until no new atoms appear, so the table covers all of them
+            for (int id = 0; id < atoms.size(); id++) {
+                decay(id);
+            }
+            BigInteger[] layer = new BigInteger[atoms.size()];
+            for (int id = 0; id < layer.length; id++) {
+                layer[id] = BigInteger.valueOf(atoms.get(id).length);
+            }
+            lengths.add(layer);
+        }
+        while (lengths.size() <= m) {
+            BigInteger[] below = lengths.get(lengths.size() - 1);
+            BigInteger[] layer = new BigInteger[below.length];
+            for (int id = 0; id < layer.length; id++) {
+                BigInteger length = BigInteger.ZERO;
+                for (int product : decay(id)) {
+                    length = length.add(below[product]);
+                }
+                layer[id] = length;
+            }
+            lengths.add(layer);
+        }
+        return lengths.get(m);
+    }
+
+    // atom counts of term n, stepping the last known term forward as far as needed
+    BigInteger[] countsOf(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative.");
+        }
+        while (counts.size() <= n) {
+            BigInteger[] term = counts.get(counts.size() - 1);
+            BigInteger[] next = new BigInteger[0];
+            for (int id = 0; id < term.length; id++) {
+                if (term[id] == null) continue;
+                for (int product : decay(id)) {
+                    next = addCount(next, product, term[id]);
+                }
+            }
+            counts.add(next);
+        }
+        return counts.get(n);
+    }
+
+    private static BigInteger[] addCount(BigInteger[] vector, int id, BigInteger amount) {
+        if (id >= vector.length) {
+            vector = Arrays.copyOf(vector, Math.max(id + 1, vector.length * 2));
+        }
+        vector[id] = vector[id] == null ? amount : vector[id].add(amount);
+        return vector;
+    }
+
+    byte[] atom(int id) {
+        return atoms.get(id);
+    }
+
+    // the atoms that atom id turns into after one step, memoized
+    int[] decay(int id) {
+        int[] products = decays.get(id);
+        if (products == null) {
+            products = decompose(LookAndSayEngine.next(atoms.get(id)));
+            decays.set(id, products);
+        }
+        return products;
+    }
+
+    // split term at every boundary that holds forever and register the pieces
+    private int[] decompose(byte[] term) {
+        List<Integer> pieces = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i < term.length; i++) {
+            // runs never split, so only a change of digit can be a boundary
+            if (term[i] != term[i - 1] && splits(term[i - 1], term, i)) {
+                pieces.add(register(Arrays.copyOfRange(term, start, i)));
+                start = i;
+            }
+        }
+        pieces.add(register(Arrays.copyOfRange(term, start, term.length)));
+        int[] result = new int[pieces.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = pieces.get(i);
+        }
+        return result;
+    }
+
+    private int register(byte[] atom) {
+        String key = new String(atom, StandardCharsets.ISO_8859_1);
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = atoms.size();
+            ids.put(key, id);
+            atoms.add(atom);
+            int[] f = new int[10];
+            for (byte b : atom) {
+                f[b - '0']++;
+            }
+            frequencies.add(f);
+            decays.add(null);
+        }
+        return id;
+    }
+
+    /**
+     * True iff term[0, from) and term[from, ...) evolve independently on every future day.
+     * The last digit of the left part never changes (a description ends with the digit it describes),
+     * so the split holds iff no descendant of the right part starts with that digit.
+     */
+    private static boolean splits(byte last, byte[] term, int from) {
+        for (int width = PREFIX_WIDTH; ; width *= 2) {
+            // only a prefix of the right part decides its first digits; its last run may be cut short
+            int end = Math.min(term.length, from + width);
+            byte[] prefix = Arrays.copyOfRange(term, from, end);
+            boolean exact = end == term.length;
+            int day = 0;
+            while (prefix.length > 0) {
+                if (prefix[0] == last) return false;
+                if (day == SPLIT_HORIZON) return true;
+                if (!exact) {
+                    prefix = Arrays.copyOf(prefix, lastRunStart(prefix));
+                }
+                prefix = LookAndSayEngine.next(prefix);
+                if (prefix.length > width) {
+                    prefix = Arrays.copyOf(prefix, width);
+                    exact = false;
+                }
+                day++;
+            }
+            // every complete run was used up before the horizon: follow a wider prefix
+        }
+    }
+
+    private static int lastRunStart(byte[] digits) {
+        int i = digits.length - 1;
+        while (i > 0 && digits[i - 1] == digits[digits.length - 1]) {i--;}
+        return i;
+    }
+}
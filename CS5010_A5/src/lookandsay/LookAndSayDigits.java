@@ -0,0 +1,122 @@
+package lookandsay;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The digits of one look-and-say term, most significant first, produced lazily.
+ *
+ * Term n is read through a chain of n run-length transducers: level k pulls digits from level k-1
+ * until a run ends, then emits the run's count and digit. Each level holds only one pending
+ * description and one digit of lookahead, so memory is O(n) however long the term is, and terms
+ * with billions of digits can be counted, hashed or written out as they stream by.
+ * Terms are numbered by steps from the seed, as in LookAndSayCosmology: term 0 is the seed.
+ */
+public class LookAndSayDigits implements PrimitiveIterator.OfInt {
+    // pull() result once a level has no more digits
+    private static final int END = -1;
+    // lookahead slot that holds no digit yet
+    private static final int NONE = -2;
+    // a run count has at most 10 digits, plus the digit it describes
+    private static final int MAX_DESCRIPTION = 11;
+
+    private final byte[] seed;
+    private int seedPos;
+    // per level 1..n: the description being emitted, how far it is emitted, and the digit after the run
+    private final byte[][] pending;
+    private final int[] pendingPos;
+    private final int[] pendingLength;
+    private final int[] lookahead;
+    // the next digit of term n, NONE until hasNext() looks
+    private int nextDigit = NONE;
+
+    /**
+     * Digits of term n of seed.
+     * @throws IllegalArgumentException if seed is null, not positive or contains a zero, or n is negative
+     */
+    public LookAndSayDigits(BigInteger seed, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative.");
+        }
+        this.seed = LookAndSayEngine.seedDigits(seed);
+        this.seedPos = 0;
+        this.pending = new byte[n + 1][MAX_DESCRIPTION];
+        this.pendingPos = new int[n + 1];
+        this.pendingLength = new int[n + 1];
+        this.lookahead = new int[n + 1];
+        Arrays.fill(lookahead, NONE);
+    }
+
+    /**
+     * The digits (0..9) of term n of seed as a sequential, ordered stream.
+     * @throws IllegalArgumentException if seed is null, not positive or contains a zero, or n is negative
+     */
+    public static IntStream stream(BigInteger seed, int n) {
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(new LookAndSayDigits(seed, n),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextDigit == NONE) {
+            nextDigit = pull(lookahead.length - 1);
+        }
+        return nextDigit != END;
+    }
+
+    /** The next digit, 0..9. */
+    @Override
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more digits in this term.");
+        }
+        int digit = nextDigit;
+        nextDigit = NONE;
+        return digit;
+    }
+
+    /* ------------------ helpers ------------------ */
+
+    // the next digit of term level, or END
+    private int pull(int level) {
+        if (level == 0) {
+            return seedPos < seed.length ? seed[seedPos++] - '0' : END;
+        }
+        if (pendingPos[level] < pendingLength[level]) {
+            return pending[level][pendingPos[level]++];
+        }
+        int digit = lookahead[level] == NONE ? pull(level - 1) : lookahead[level];
+        if (digit == END) {
+            lookahead[level] = END;
+            return END;
+        }
+        // read the rest of the run; the first different digit is kept for the next call
+        int count = 1;
+        int following;
+        while ((following = pull(level - 1)) == digit) {
+            count++;
+        }
+        lookahead[level] = following;
+
+        byte[] out = pending[level];
+        int length = 0;
+        if (count < 10) {
+            out[length++] = (byte) count;
+        } else {
+            String digits = Integer.toString(count);
+            for (int i = 0; i < digits.length(); i++) {
+                out[length++] = (byte) (digits.charAt(i) - '0');
+            }
+        }
+        out[length++] = (byte) digit;
+        pendingLength[level] = length;
+        pendingPos[level] = 1;
+        return out[0];
+    }
+}
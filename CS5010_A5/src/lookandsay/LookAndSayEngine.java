@@ -0,0 +1,238 @@
+package lookandsay;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Look-and-say steps on terms kept as ASCII digit bytes, most significant digit first.
+ * The iterator works on these arrays and only builds a BigInteger when it has to return one,
+ * so a step is one linear scan over the runs instead of a BigInteger-to-String-to-BigInteger round trip.
+ */
+final class LookAndSayEngine {
+    // terms shorter than this are stepped sequentially even when a pool is given
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+    // digits per chunk of a parallel step, before the cut moves to a run boundary
+    static final int CHUNK_SIZE = 1 << 18;
+    // longest byte array the VM reliably allocates
+    static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private LookAndSayEngine() {}
+
+    /** The ASCII digits of a positive number. */
+    static byte[] digitsOf(BigInteger n) {
+        return n.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * The ASCII digits of a seed, which must be positive and free of zeros.
+     * @throws IllegalArgumentException if seed is null, not positive or contains a zero
+     */
+    static byte[] seedDigits(BigInteger seed) {
+        if (seed == null) {
+            throw new IllegalArgumentException("Seed must be non-null.");
+        }
+        if (seed.signum() <= 0) {
+            throw new IllegalArgumentException("Seed must be positive.");
+        }
+        byte[] digits = digitsOf(seed);
+        for (byte b : digits) {
+            if (b == '0') {
+                throw new IllegalArgumentException("Seed must not contain any zeros.");
+            }
+        }
+        return digits;
+    }
+
+    /** The number spelled by ASCII digits. */
+    static BigInteger toBigInteger(byte[] term) {
+        return new BigInteger(new String(term, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Numeric order of two terms without leading zeros: the longer term is larger,
+     * otherwise the first differing digit decides.
+     */
+    static int compare(byte[] a, byte[] b) {
+        if (a.length != b.length) {
+            return a.length > b.length ? 1 : -1;
+        }
+        return Arrays.compare(a, b);
+    }
+
+    /** Describe term run by run: each run of r equal digits d becomes the digits of r, then d. */
+    static byte[] next(byte[] term) {
+        // measure first, so the result is allocated once at its exact size
+        byte[] out = new byte[checkedLength(describedLength(term, 0, term.length))];
+        describe(term, 0, term.length, out, 0);
+        return out;
+    }
+
+    /**
+     * Describe term[0, length) into out and return the length written; out must have room for
+     * describedLength(term, 0, length) digits. Long terms are described on the pool: the term is cut
+     * into chunks at run boundaries, which describe independently, and each chunk writes straight
+     * into its place in out. Short terms, or a null pool, take the sequential path.
+     */
+    static int describe(byte[] term, int length, byte[] out, ForkJoinPool pool) {
+        if (pool == null || length < PARALLEL_THRESHOLD) {
+            return describe(term, 0, length, out, 0);
+        }
+        int[] starts = cuts(term, length);
+        int[] offsets = new int[starts.length];
+        int total = checkedLength(measure(term, starts, offsets, pool));
+        pool.invoke(new StepTask(term, starts, offsets, out, 0, starts.length - 1));
+        return total;
+    }
+
+    // chunk starts for a parallel step over term[0, length): a cut every CHUNK_SIZE digits, moved forward to the start of a run
+    private static int[] cuts(byte[] term, int length) {
+        int chunks = (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int[] starts = new int[chunks + 1];
+        for (int c = 1; c < chunks; c++) {
+            int cut = Math.max(c * CHUNK_SIZE, starts[c - 1]);
+            while (cut < length && term[cut] == term[cut - 1]) {cut++;}
+            starts[c] = cut;
+        }
+        starts[chunks] = length;
+        return starts;
+    }
+
+    // store where each chunk's description starts in offsets, and return the total length
+    private static long measure(byte[] term, int[] starts, int[] offsets, ForkJoinPool pool) {
+        int chunks = starts.length - 1;
+        pool.invoke(new StepTask(term, starts, offsets, null, 0, chunks));
+        long total = 0;
+        for (int c = 0; c < chunks; c++) {
+            int length = offsets[c];
+            offsets[c] = (int) total;
+            total += length;
+        }
+        return total;
+    }
+
+    // describe the runs of term[from, to) into out at o, return the position after them
+    static int describe(byte[] term, int from, int to, byte[] out, int o) {
+        int i = from;
+        while (i < to) {
+            byte digit = term[i];
+            int j = i + 1;
+            while (j < to && term[j] == digit) {j++;}
+            o = writeCount(out, o, j - i);     // NOTE: count may be multiple digits (e.g., 11)
+            out[o++] = digit;
+            i = j;
+        }
+        return o;
+    }
+
+    /**
+     * A next-term length as an array length.
+     * @throws IllegalArgumentException if it is over MAX_ARRAY_LENGTH
+     */
+    static int checkedLength(long length) {
+        if (length > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException("Next term is too long for an array.");
+        }
+        return (int) length;
+    }
+
+    // the number of digits describe(term, from, to, ...) writes; a long, as it can pass Integer.MAX_VALUE
+    static long describedLength(byte[] term, int from, int to) {
+        long length = 0;
+        int i = from;
+        while (i < to) {
+            byte digit = term[i];
+            int j = i + 1;
+            while (j < to && term[j] == digit) {j++;}
+            int count = j - i;
+            length += (count < 10 ? 1 : Integer.toString(count).length()) + 1;
+            i = j;
+        }
+        return length;
+    }
+
+    /**
+     * Chunks [from, to) of a parallel step. Without an output array it stores each chunk's
+     * described length in offsets; with one it writes each chunk at its offset.
+     */
+    private static final class StepTask extends RecursiveAction {
+        private final byte[] term;
+        private final int[] starts;
+        private final int[] offsets;
+        private final byte[] out;
+        private final int from;
+        private final int to;
+
+        StepTask(byte[] term, int[] starts, int[] offsets, byte[] out, int from, int to) {
+            this.term = term;
+            this.starts = starts;
+            this.offsets = offsets;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (out == null) {
+                    // a cut only moves across one run, which describes in a few digits, so this fits an int
+                    offsets[from] = (int) describedLength(term, starts[from], starts[from + 1]);
+                } else {
+                    describe(term, starts[from], starts[from + 1], out, offsets[from]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new StepTask(term, starts, offsets, out, from, mid),
+                    new StepTask(term, starts, offsets, out, mid, to));
+        }
+    }
+
+    // write count in decimal at out[o], return the position after it
+    private static int writeCount(byte[] out, int o, int count) {
+        if (count < 10) {
+            out[o] = (byte) ('0' + count);
+            return o + 1;
+        }
+        int digits = Integer.toString(count).length();
+        for (int k = o + digits - 1; k >= o; k--) {
+            out[k] = (byte) ('0' + count % 10);
+            count /= 10;
+        }
+        return o + digits;
+    }
+
+    /**
+     * True if term reads as pairs (count,digit) with count and digit in 1..9:
+     * even length and no zeros.
+     */
+    static boolean canReverse(byte[] term) {
+        if ((term.length & 1) == 1) return false;
+        for (byte b : term) {
+            if (b < '1' || b > '9') return false;
+        }
+        return true;
+    }
+
+    /** Expand the pairs (count,digit) of a reversible term. */
+    static byte[] previous(byte[] term) {
+        if (!canReverse(term)) {
+            throw new IllegalArgumentException("Current term cannot be reversed by (count,digit) pairs.");
+        }
+        int length = 0;
+        for (int i = 0; i < term.length; i += 2) {
+            length += term[i] - '0';
+        }
+        byte[] out = new byte[length];
+        int o = 0;
+        for (int i = 0; i < term.length; i += 2) {
+            int count = term[i] - '0';
+            Arrays.fill(out, o, o + count, term[i + 1]);
+            o += count;
+        }
+        return out;
+    }
+}
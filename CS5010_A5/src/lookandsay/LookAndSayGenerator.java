@@ -0,0 +1,171 @@
+package lookandsay;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongSupplier;
+
+/**
+ * Forward-only look-and-say generator for tight loops, the allocation-free counterpart of LookAndSayIterator.
+ *
+ * Terms live in two byte buffers that take turns: the next term is described into the spare buffer,
+ * then the two swap, so a step allocates nothing unless the spare has to grow (geometrically).
+ * Terms are handed out as read-only views of a buffer instead of BigIntegers. A view stays valid only
+ * until the following call to next() or nextBytes(), which writes the term after it into that buffer;
+ * copy it (toString(), or get() from the ByteBuffer) to keep it.
+ *
+ * Given a pool, terms of a million digits or more are described in parallel, cut into chunks
+ * at run boundaries; as the terms never become BigIntegers, this pays off for very long terms.
+ *
+ * next()/nextBytes() and hasNext() follow LookAndSayIterator: return the current term, then advance,
+ * while the current term is below end. Seed and end are validated the same way.
+ */
+public class LookAndSayGenerator {
+    // ASCII digits of the current term in current[0, length), and the buffer the next term goes into
+    private byte[] current;
+    private int length;
+    private byte[] spare;
+    private final byte[] end;
+    // describes long terms in parallel; null steps sequentially
+    private final ForkJoinPool pool;
+    // one reusable view of each buffer, rebuilt only when that buffer is replaced
+    private DigitsView currentView;
+    private DigitsView spareView;
+
+    /**
+     * Generate from seed while the current term is less than end.
+     * @throws IllegalArgumentException if seed and end are invalid as for LookAndSayIterator
+     */
+    public LookAndSayGenerator(BigInteger seed, BigInteger end) {
+        this(seed, end, null);
+    }
+
+    /**
+     * Like the two-arg constructor, but terms of a million digits or more are described on pool;
+     * a null pool steps sequentially.
+     * @throws IllegalArgumentException if seed and end are invalid as for LookAndSayIterator
+     */
+    public LookAndSayGenerator(BigInteger seed, BigInteger end, ForkJoinPool pool) {
+        LookAndSayIterator.validate(seed, end);
+        byte[] digits = LookAndSayEngine.digitsOf(seed);
+        // both buffers start with room for the next term
+        this.current = Arrays.copyOf(digits, 2 * digits.length);
+        this.length = digits.length;
+        this.spare = new byte[2 * length];
+        this.end = LookAndSayEngine.digitsOf(end);
+        this.pool = pool;
+        this.currentView = new DigitsView(current);
+        this.spareView = new DigitsView(spare);
+    }
+
+    /** True iff the current term is less than end; compares lengths before any digit. */
+    public boolean hasNext() {
+        if (length != end.length) {
+            return length < end.length;
+        }
+        return Arrays.compare(current, 0, length, end, 0, end.length) < 0;
+    }
+
+    /**
+     * Return the current term as a view, then advance to the next term.
+     * The view is valid until the following call to next() or nextBytes().
+     * @throws NoSuchElementException if hasNext() is false
+     */
+    public CharSequence next() {
+        return advance();
+    }
+
+    /**
+     * Return the current term as a read-only buffer of ASCII digits, then advance to the next term.
+     * The buffer is valid until the following call to next() or nextBytes().
+     * @throws NoSuchElementException if hasNext() is false
+     */
+    public ByteBuffer nextBytes() {
+        DigitsView view = advance();
+        return view.bytes.clear().limit(view.length);
+    }
+
+    /* ------------------ helpers ------------------ */
+
+    // describe the current term into the spare buffer, swap them, and return the view of the term left behind
+    private DigitsView advance() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No next element (current exceeds end).");
+        }
+        int capacity = capacityFor(spare.length, length, () -> LookAndSayEngine.describedLength(current, 0, length));
+        if (capacity > spare.length) {
+            spare = new byte[capacity];
+            spareView = new DigitsView(spare);
+        }
+        int nextLength = LookAndSayEngine.describe(current, length, spare, pool);
+
+        byte[] previous = current;
+        DigitsView previousView = currentView;
+        previousView.length = length;
+        current = spare;
+        currentView = spareView;
+        length = nextLength;
+        spare = previous;
+        spareView = previousView;
+        return previousView;
+    }
+
+    /**
+     * Capacity the spare buffer needs before a term of the given length is described into it.
+     * A run of r digits becomes at most r + 1 <= 2r digits, so 2 * length always suffices, and the buffer
+     * grows by at least half each time. Near the array limit that bound overshoots, so the actual
+     * next length is measured and the buffer grows no further than the limit.
+     * @throws IllegalArgumentException if the next term is longer than the largest array
+     */
+    static int capacityFor(int spareLength, int length, LongSupplier nextLength) {
+        if (spareLength >= 2L * length) {
+            return spareLength;
+        }
+        long capacity = Math.max(2L * length, spareLength + (long) (spareLength >> 1));
+        if (capacity <= LookAndSayEngine.MAX_ARRAY_LENGTH) {
+            return (int) capacity;
+        }
+        int needed = LookAndSayEngine.checkedLength(nextLength.getAsLong());
+        return needed <= spareLength ? spareLength : LookAndSayEngine.MAX_ARRAY_LENGTH;
+    }
+
+    /** The first length digits of a buffer, as characters and as a read-only ByteBuffer. */
+    private static final class DigitsView implements CharSequence {
+        private final byte[] digits;
+        private final ByteBuffer bytes;
+        private int length;
+
+        DigitsView(byte[] digits) {
+            this.digits = digits;
+            this.bytes = ByteBuffer.wrap(digits).asReadOnlyBuffer();
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return (char) digits[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            Objects.checkFromToIndex(start, end, length);
+            return new String(digits, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return new String(digits, 0, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -5,29 +5,55 @@ import java.util.NoSuchElementException;
 
 /**
  * Look-and-say iterator that can move forward and (sometimes) backward.
- * The iterator returns BigInteger values but internally builds from their decimal strings.
+ * The iterator returns BigInteger values but internally keeps the current term as decimal digit bytes
+ * (see LookAndSayEngine), so a step never converts through BigInteger.
  *
  * Semantics:
  * - next(): return current term, then advance to the next term.
  * - prev(): return current term, then retreat to the previous term (only when
+ *           a term reached by next() is still in the history window, or
  *           the current term is a valid sequence of (count,digit) pairs with single-digit counts).
  * - hasNext(): true iff the *next number to be returned* (i.e., current) is <= end.
- * - hasPrevious(): true iff the current term can be parsed into valid (count,digit) pairs.
+ * - hasPrevious(): true iff the history window is not empty or the current term
+ *           can be parsed into valid (count,digit) pairs.
  *
  * Notes on reverse:
  * - We only allow reversal when the current term is composed of pairs "cd" where:
  *     c ∈ {'1',...,'9'} (no zero counts), d ∈ {'1',...,'9'} (digits 1–9), and the length is even.
  *   This corresponds exactly to “take digits two at a time” described in the prompt.
+ * - With a history window of size w, the last w terms left by next() are kept, and prev() steps back
+ *   to them in O(1) without parsing. This also goes back over terms with multi-digit counts
+ *   (runs of ten or more), which pair parsing cannot.
  */
 public class LookAndSayIterator implements RIterator<BigInteger> {
-    private BigInteger current;
-    private final BigInteger end;
+    // ASCII digits, most significant first
+    private byte[] current;
+    private final byte[] end;
+    // ring of the terms next() left behind, most recent at (historyStart + historySize - 1) % length
+    private final byte[][] history;
+    private int historyStart;
+    private int historySize;
 
     /** Two-arg constructor. */
     public LookAndSayIterator(BigInteger seed, BigInteger end) {
+        this(seed, end, 0);
+    }
+
+    /**
+     * Like the two-arg constructor, but keeps the last historySize terms left by next(),
+     * so prev() steps back over them in O(1). A size of 0 keeps no history.
+     * @throws IllegalArgumentException if historySize is negative, or seed and end are invalid as for the two-arg constructor
+     */
+    public LookAndSayIterator(BigInteger seed, BigInteger end, int historySize) {
         validate(seed, end);
-        this.current = seed;
-        this.end = end;
+        if (historySize < 0) {
+            throw new IllegalArgumentException("History size must not be negative.");
+        }
+        this.current = LookAndSayEngine.digitsOf(seed);
+        this.end = LookAndSayEngine.digitsOf(end);
+        this.history = new byte[historySize][];
+        this.historyStart = 0;
+        this.historySize = 0;
     }
 
     /** One-arg constructor: the end is the largest 100-digit number (100 nines). */
@@ -42,7 +68,7 @@ public class LookAndSayIterator implements RIterator<BigInteger> {
 
     @Override
     public boolean hasNext() {
-        return current.compareTo(end) < 0;
+        return LookAndSayEngine.compare(current, end) < 0;
     }
 
     @Override
@@ -50,14 +76,16 @@ public class LookAndSayIterator implements RIterator<BigInteger> {
         if (!hasNext()) {
             throw new NoSuchElementException("No next element (current exceeds end).");
         }
-        BigInteger toReturn = current;
-        current = nextOf(current);
+        BigInteger toReturn = LookAndSayEngine.toBigInteger(current);
+        byte[] next = LookAndSayEngine.next(current);
+        remember(current);
+        current = next;
         return toReturn;
     }
 
     @Override
     public boolean hasPrevious() {
-        return canReverse(current);
+        return historySize > 0 || LookAndSayEngine.canReverse(current);
     }
 
     @Override
@@ -65,8 +93,16 @@ public class LookAndSayIterator implements RIterator<BigInteger> {
         if (!hasPrevious()) {
             throw new NoSuchElementException("No previous element for current term.");
         }
-        BigInteger toReturn = current;
-        current = previousOf(current);
+        BigInteger toReturn = LookAndSayEngine.toBigInteger(current);
+        if (historySize > 0) {
+            // the term next() came from, most recent first
+            historySize--;
+            int last = (historyStart + historySize) % history.length;
+            current = history[last];
+            history[last] = null;
+        } else {
+            current = LookAndSayEngine.previous(current);
+        }
         return toReturn;
     }
 
@@ -77,12 +113,24 @@ public class LookAndSayIterator implements RIterator<BigInteger> {
 
     /* ------------------ helpers ------------------ */
 
+    // keep term in the history window, dropping the oldest term when it is full
+    private void remember(byte[] term) {
+        if (history.length == 0) return;
+        if (historySize == history.length) {
+            history[historyStart] = term;
+            historyStart = (historyStart + 1) % history.length;
+        } else {
+            history[(historyStart + historySize) % history.length] = term;
+            historySize++;
+        }
+    }
+
     private static BigInteger maxHundredNines() {
         // largest 100-digit number
         return new BigInteger("9".repeat(100));
     }
 
-    private static void validate(BigInteger seed, BigInteger end) {
+    static void validate(BigInteger seed, BigInteger end) {
         if (seed == null || end == null) {
             throw new IllegalArgumentException("Seed and end must be non-null.");
         }
@@ -97,55 +145,4 @@ public class LookAndSayIterator implements RIterator<BigInteger> {
             throw new IllegalArgumentException("Seed must not contain any zeros.");
         }
     }
-
-    /** Compute the forward-look-and-say term. */
-    private static BigInteger nextOf(BigInteger n) {
-        String s = n.toString();
-        StringBuilder out = new StringBuilder(s.length() * 2);
-        int i = 0;
-        while (i < s.length()) {
-            char digit = s.charAt(i);
-            int count = 1;
-            int j = i + 1;
-            while (j < s.length() && s.charAt(j) == digit) {
-                count++;
-                j++;
-            }
-            out.append(count);     // NOTE: count may be multiple digits (e.g., 11)
-            out.append(digit);
-            i = j;
-        }
-        return new BigInteger(out.toString());
-    }
-
-    /**
-     * True if we can reverse the current term by reading it as pairs (count,digit),
-     * with single-digit count (1..9) and digit (1..9). No zeros and even length.
-     */
-    private static boolean canReverse(BigInteger n) {
-        String s = n.toString();
-        if ((s.length() & 1) == 1) return false; // must be even length
-        for (int i = 0; i < s.length(); i += 2) {
-            char cCount = s.charAt(i);
-            char cDigit = s.charAt(i + 1);
-            if (cCount < '1' || cCount > '9') return false; // single-digit positive count only
-            if (cDigit < '1' || cDigit > '9') return false; // digits 1..9 only (no zeros)
-        }
-        return true;
-    }
-
-    /** Compute the previous term by expanding pairs (count,digit). */
-    private static BigInteger previousOf(BigInteger n) {
-        String s = n.toString();
-        if (!canReverse(n)) {
-            throw new IllegalArgumentException("Current term cannot be reversed by (count,digit) pairs.");
-        }
-        StringBuilder out = new StringBuilder();
-        for (int i = 0; i < s.length(); i += 2) {
-            int count = s.charAt(i) - '0';
-            char digit = s.charAt(i + 1);
-            for (int k = 0; k < count; k++) out.append(digit);
-        }
-        return new BigInteger(out.toString());
-    }
 }
@@ -0,0 +1,161 @@
+package lookandsay;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An immutable look-and-say term stored at 2 bits per digit, 32 digits per long.
+ *
+ * Once a term has no digit above 3 and no run longer than 3, neither does any later term: every
+ * run is described by a count of 1..3 and its digit, and a description never holds four equal
+ * digits in a row. Seeds with that property are accepted, and each digit d in 1..3 is stored as
+ * the 2-bit value d, so terms take a quarter of the memory of byte digits (about 59 MB for term 70
+ * from seed 1 instead of 234 MB).
+ *
+ * next() works on the packed words: XOR-ing a word with itself shifted by one digit marks every
+ * place where a run ends, and each run becomes one 4-bit (count, digit) pair in the output.
+ * Digit 0 is the most significant; digit i sits in bits 2(i % 32) of word i / 32.
+ */
+public final class PackedLookAndSayTerm {
+    private static final int DIGITS_PER_WORD = 32;
+    // the low bit of every 2-bit slot
+    private static final long SLOT_LOW_BITS = 0x5555_5555_5555_5555L;
+
+    private final long[] words;
+    private final long length;
+
+    /**
+     * Pack seed, which may only use the digits 1, 2 and 3, with no digit repeated more than 3 times in a row.
+     * @throws IllegalArgumentException if seed is null, not positive, or does not have that form
+     */
+    public PackedLookAndSayTerm(BigInteger seed) {
+        byte[] digits = LookAndSayEngine.seedDigits(seed);
+        int run = 0;
+        for (int i = 0; i < digits.length; i++) {
+            if (digits[i] > '3') {
+                throw new IllegalArgumentException("Seed digits must be 1, 2 or 3.");
+            }
+            run = i > 0 && digits[i] == digits[i - 1] ? run + 1 : 1;
+            if (run > 3) {
+                throw new IllegalArgumentException("Seed must not repeat a digit more than 3 times in a row.");
+            }
+        }
+        this.words = new long[wordsFor(digits.length)];
+        this.length = digits.length;
+        for (int i = 0; i < digits.length; i++) {
+            words[i / DIGITS_PER_WORD] |= (long) (digits[i] - '0') << (2 * (i % DIGITS_PER_WORD));
+        }
+    }
+
+    private PackedLookAndSayTerm(long[] words, long length) {
+        this.words = words;
+        this.length = length;
+    }
+
+    /** Number of digits. */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Digit k, counting from 0 at the most significant.
+     * @throws IllegalArgumentException if k is not an index of this term
+     */
+    public int digitAt(long k) {
+        if (k < 0 || k >= length) {
+            throw new IllegalArgumentException("k must be at least 0 and less than the length.");
+        }
+        return (int) (words[(int) (k >>> 5)] >>> ((k & 31) << 1)) & 3;
+    }
+
+    /**
+     * The next term, computed on the packed words.
+     * @throws IllegalArgumentException if the next term would need more than Integer.MAX_VALUE words
+     */
+    public PackedLookAndSayTerm next() {
+        int lastWord = words.length - 1;
+        int lastSlots = (int) (length - (long) lastWord * DIGITS_PER_WORD);
+
+        // one pass to count the runs, so the result is allocated at its exact size
+        long runs = 0;
+        for (int w = 0; w <= lastWord; w++) {
+            runs += Long.bitCount(runEnds(w, lastWord, lastSlots));
+        }
+        long nextLength = 2 * runs;
+        if (nextLength > (long) Integer.MAX_VALUE * DIGITS_PER_WORD) {
+            throw new IllegalArgumentException("Next term is too long.");
+        }
+        long[] out = new long[wordsFor(nextLength)];
+
+        // each run adds the 4-bit pair (count, digit); 16 pairs fill a word exactly
+        int o = 0;
+        long pending = 0;
+        int filled = 0;
+        long runStart = 0;
+        for (int w = 0; w <= lastWord; w++) {
+            long word = words[w];
+            long ends = runEnds(w, lastWord, lastSlots);
+            while (ends != 0) {
+                int bit = Long.numberOfTrailingZeros(ends);
+                long end = (long) w * DIGITS_PER_WORD + (bit >>> 1);
+                long count = end - runStart + 1;
+                long digit = word >>> bit & 3;
+                pending |= (count | digit << 2) << filled;
+                filled += 4;
+                if (filled == Long.SIZE) {
+                    out[o++] = pending;
+                    pending = 0;
+                    filled = 0;
+                }
+                runStart = end + 1;
+                ends &= ends - 1;
+            }
+        }
+        if (filled > 0) {
+            out[o] = pending;
+        }
+        return new PackedLookAndSayTerm(out, nextLength);
+    }
+
+    /** The term as a number. */
+    public BigInteger toBigInteger() {
+        return new BigInteger(toString());
+    }
+
+    /**
+     * The decimal digits of the term.
+     * @throws IllegalArgumentException if the term is too long for a String
+     */
+    @Override
+    public String toString() {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Term is too long for a String.");
+        }
+        byte[] digits = new byte[(int) length];
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = (byte) ('0' + ((words[i >>> 5] >>> ((i & 31) << 1)) & 3));
+        }
+        return new String(digits, StandardCharsets.ISO_8859_1);
+    }
+
+    /* ------------------ helpers ------------------ */
+
+    private static int wordsFor(long digits) {
+        return (int) ((digits + DIGITS_PER_WORD - 1) / DIGITS_PER_WORD);
+    }
+
+    /**
+     * The low bit of slot j is set iff a run ends at digit j of word w, that is, digit j + 1 differs
+     * or does not exist. Empty slots past the end read as 0, which no digit equals.
+     */
+    private long runEnds(int w, int lastWord, int lastSlots) {
+        long word = words[w];
+        long following = w < lastWord ? words[w + 1] & 3 : 0;
+        long diff = word ^ (word >>> 2 | following << 62);
+        long ends = (diff | diff >>> 1) & SLOT_LOW_BITS;
+        if (w == lastWord && lastSlots < DIGITS_PER_WORD) {
+            ends &= (1L << (2 * lastSlots)) - 1;
+        }
+        return ends;
+    }
+}
@@ -0,0 +1,157 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.util.PrimitiveIterator;
+
+import lookandsay.LookAndSayCosmology;
+import lookandsay.LookAndSayDigits;
+import lookandsay.LookAndSayIterator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class LookAndSayCosmologyTest {
+
+    // tiny helper
+    private static BigInteger bi(String s) { return new BigInteger(s); }
+
+    @Nested
+    @DisplayName("Constructor validation")
+    class ConstructorValidation {
+
+        @Test
+        void seedMustBeValid() {
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayCosmology(null));
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayCosmology(bi("0")));
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayCosmology(bi("-3")));
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayCosmology(bi("1203")));
+        }
+
+        @Test
+        void termIndexMustNotBeNegative() {
+            LookAndSayCosmology c = new LookAndSayCosmology(BigInteger.ONE);
+            assertThrows(IllegalArgumentException.class, () -> c.length(-1));
+            assertThrows(IllegalArgumentException.class, () -> c.digitFrequencies(-1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Agreement with the iterator")
+    class AgreesWithIterator {
+
+        private void check(String seed, int terms) {
+            LookAndSayCosmology c = new LookAndSayCosmology(bi(seed));
+            LookAndSayIterator it = new LookAndSayIterator(bi(seed), BigInteger.TEN.pow(1_000_000));
+            for (int n = 0; n < terms; n++) {
+                String term = it.next().toString();
+                assertEquals(BigInteger.valueOf(term.length()), c.length(n), "length of term " + n);
+                BigInteger[] frequencies = c.digitFrequencies(n);
+                for (int d = 0; d < 10; d++) {
+                    char digit = (char) ('0' + d);
+                    long expected = term.chars().filter(ch -> ch == digit).count();
+                    assertEquals(BigInteger.valueOf(expected), frequencies[d], "digit " + d + " of term " + n);
+                }
+            }
+        }
+
+        @Test
+        void seedOne() {
+            check("1", 35);
+        }
+
+        @Test
+        void seedsWithLargeDigitsAndLongRuns() {
+            check("987654321", 30);
+            check("1111111111222", 30);
+        }
+    }
+
+    @Nested
+    @DisplayName("Random access (digitAt)")
+    class RandomAccess {
+
+        @Test
+        void everyDigitMatchesTheIterator() {
+            for (String seed : new String[] {"1", "987654321", "1111111111222"}) {
+                LookAndSayCosmology c = new LookAndSayCosmology(bi(seed));
+                LookAndSayIterator it = new LookAndSayIterator(bi(seed), BigInteger.TEN.pow(100_000));
+                for (int n = 0; n < 25; n++) {
+                    String term = it.next().toString();
+                    for (int k = 0; k < term.length(); k++) {
+                        assertEquals(term.charAt(k) - '0', c.digitAt(n, BigInteger.valueOf(k)),
+                                "seed " + seed + ", term " + n + ", digit " + k);
+                    }
+                }
+            }
+        }
+
+        @Test
+        void staticFormAgrees() {
+            assertEquals(3, LookAndSayCosmology.digitAt(bi("1"), 5, BigInteger.ZERO));  // 312211
+            assertEquals(1, LookAndSayCosmology.digitAt(bi("1"), 5, BigInteger.valueOf(5)));
+        }
+
+        @Test
+        void indexMustBeInsideTheTerm() {
+            LookAndSayCosmology c = new LookAndSayCosmology(BigInteger.ONE);
+            assertThrows(IllegalArgumentException.class, () -> c.digitAt(5, BigInteger.valueOf(-1)));
+            assertThrows(IllegalArgumentException.class, () -> c.digitAt(5, BigInteger.valueOf(6)));
+            assertThrows(IllegalArgumentException.class, () -> c.digitAt(5, null));
+            assertThrows(IllegalArgumentException.class, () -> c.digitAt(-1, BigInteger.ZERO));
+        }
+
+        @Test
+        void lastDigitOfAHugeTermIsTheSeedsLastDigit() {
+            LookAndSayCosmology c = new LookAndSayCosmology(bi("2213"));
+            BigInteger last = c.length(1000).subtract(BigInteger.ONE);
+            assertEquals(3, c.digitAt(1000, last));
+        }
+
+        @Test
+        void sampledDigitsMatchTheDigitStream() {
+            LookAndSayCosmology c = new LookAndSayCosmology(BigInteger.ONE);
+            PrimitiveIterator.OfInt digits = new LookAndSayDigits(BigInteger.ONE, 45);
+            for (int k = 0; digits.hasNext(); k++) {
+                int digit = digits.nextInt();
+                if (k % 997 == 0) {
+                    assertEquals(digit, c.digitAt(45, BigInteger.valueOf(k)), "digit " + k);
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Known values")
+    class KnownValues {
+
+        @Test
+        void lengthsFromOeisA005341() {
+            LookAndSayCosmology c = new LookAndSayCosmology(BigInteger.ONE);
+            // A005341 counts from term 1 = "1", which is term 0 here
+            assertEquals(bi("63138"), c.length(39));
+            assertEquals(bi("82350"), c.length(40));
+            assertEquals(bi("894810"), c.length(49));
+        }
+
+        @Test
+        void seedOneSettlesIntoTheNinetyTwoElements() {
+            LookAndSayCosmology c = new LookAndSayCosmology(BigInteger.ONE);
+            assertEquals(92, c.elementCount(100));
+        }
+
+        @Test
+        void hydrogenNeverChanges() {
+            LookAndSayCosmology c = new LookAndSayCosmology(bi("22"));
+            assertEquals(bi("2"), c.length(500));
+            assertEquals(1, c.elementCount(500));
+        }
+
+        @Test
+        void term1000GrowsByConwaysConstant() {
+            LookAndSayCosmology c = new LookAndSayCosmology(BigInteger.ONE);
+            // lengths grow by about 1.303577 per term
+            double ratio = c.length(1000).doubleValue() / c.length(999).doubleValue();
+            assertEquals(1.303577269, ratio, 1e-9);
+        }
+    }
+}
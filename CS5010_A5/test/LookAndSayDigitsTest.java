@@ -0,0 +1,73 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+
+import lookandsay.LookAndSayCosmology;
+import lookandsay.LookAndSayDigits;
+import lookandsay.LookAndSayIterator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class LookAndSayDigitsTest {
+
+    // tiny helper
+    private static BigInteger bi(String s) { return new BigInteger(s); }
+
+    private static String digitsOf(BigInteger seed, int n) {
+        StringBuilder out = new StringBuilder();
+        LookAndSayDigits.stream(seed, n).forEach(out::append);
+        return out.toString();
+    }
+
+    @Nested
+    @DisplayName("Constructor validation")
+    class ConstructorValidation {
+
+        @Test
+        void seedAndTermMustBeValid() {
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayDigits(null, 3));
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayDigits(bi("0"), 3));
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayDigits(bi("105"), 3));
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayDigits(bi("1"), -1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Digits of a term")
+    class Digits {
+
+        @Test
+        void termZeroIsTheSeed() {
+            assertEquals("312211", digitsOf(bi("312211"), 0));
+        }
+
+        @Test
+        void matchesIteratorTermByTerm() {
+            for (String seed : new String[] {"1", "3", "987654321", "1111111111222"}) {
+                LookAndSayIterator it = new LookAndSayIterator(bi(seed), BigInteger.TEN.pow(100_000));
+                for (int n = 0; n < 25; n++) {
+                    assertEquals(it.next().toString(), digitsOf(bi(seed), n), "seed " + seed + ", term " + n);
+                }
+            }
+        }
+
+        @Test
+        void exhaustedIteratorThrows() {
+            LookAndSayDigits digits = new LookAndSayDigits(bi("1"), 2); // 21
+            assertEquals(2, digits.nextInt());
+            assertEquals(1, digits.nextInt());
+            assertFalse(digits.hasNext());
+            assertThrows(NoSuchElementException.class, digits::nextInt);
+        }
+
+        @Test
+        void countsAgreeWithCosmology() {
+            LookAndSayCosmology c = new LookAndSayCosmology(BigInteger.ONE);
+            assertEquals(c.length(55).longValue(), LookAndSayDigits.stream(BigInteger.ONE, 55).count());
+            assertEquals(c.digitFrequencies(55)[3].longValue(),
+                    LookAndSayDigits.stream(BigInteger.ONE, 55).filter(d -> d == 3).count());
+        }
+    }
+}
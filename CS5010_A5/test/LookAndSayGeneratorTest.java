@@ -0,0 +1,106 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+import lookandsay.LookAndSayGenerator;
+import lookandsay.LookAndSayIterator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class LookAndSayGeneratorTest {
+
+    // tiny helper
+    private static BigInteger bi(String s) { return new BigInteger(s); }
+
+    @Nested
+    @DisplayName("Constructor validation")
+    class ConstructorValidation {
+
+        @Test
+        void validatesLikeTheIterator() {
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayGenerator(bi("0"), bi("9")));
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayGenerator(bi("11"), bi("10")));
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayGenerator(bi("101"), bi("9999")));
+            assertThrows(IllegalArgumentException.class, () -> new LookAndSayGenerator(null, bi("9")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Generated terms")
+    class GeneratedTerms {
+
+        @Test
+        void matchesTheIteratorUpToTheEndBound() {
+            for (String seed : new String[] {"1", "3", "987654321", "1111111111222"}) {
+                BigInteger end = BigInteger.TEN.pow(5000);
+                LookAndSayIterator it = new LookAndSayIterator(bi(seed), end);
+                LookAndSayGenerator gen = new LookAndSayGenerator(bi(seed), end);
+                while (it.hasNext()) {
+                    assertTrue(gen.hasNext());
+                    assertEquals(it.next().toString(), gen.next().toString());
+                }
+                assertFalse(gen.hasNext());
+                assertThrows(NoSuchElementException.class, gen::next);
+            }
+        }
+
+        @Test
+        void hasNextComparesEqualLengthTermsByDigits() {
+            LookAndSayGenerator gen = new LookAndSayGenerator(bi("21"), bi("22"));
+            assertTrue(gen.hasNext());
+            assertEquals("21", gen.next().toString());
+            assertFalse(gen.hasNext()); // 1211 is longer than 22
+            assertFalse(new LookAndSayGenerator(bi("21"), bi("21")).hasNext());
+        }
+
+        @Test
+        void viewsReadTheCurrentTerm() {
+            LookAndSayGenerator gen = new LookAndSayGenerator(bi("312211"), bi("9".repeat(40)));
+            CharSequence view = gen.next();
+            assertEquals(6, view.length());
+            assertEquals('3', view.charAt(0));
+            assertEquals("221", view.subSequence(2, 5).toString());
+            assertThrows(IndexOutOfBoundsException.class, () -> view.charAt(6));
+
+            ByteBuffer bytes = gen.nextBytes(); // 13112221
+            assertEquals(8, bytes.remaining());
+            assertEquals('1', bytes.get(0));
+            assertEquals('3', bytes.get(1));
+            assertTrue(bytes.isReadOnly());
+            assertThrows(ReadOnlyBufferException.class, () -> bytes.put(0, (byte) '9'));
+        }
+
+        @Test
+        void poolGivesTheSameTermsPastTheParallelThreshold() {
+            // term 50 from seed 1 has 1166642 digits, past the 2^20 digits where the pool takes over
+            BigInteger end = BigInteger.TEN.pow(1_200_000);
+            LookAndSayGenerator plain = new LookAndSayGenerator(BigInteger.ONE, end);
+            LookAndSayGenerator pooled = new LookAndSayGenerator(BigInteger.ONE, end, new ForkJoinPool(4));
+            int terms = 0;
+            while (plain.hasNext()) {
+                assertTrue(pooled.hasNext());
+                assertEquals(plain.nextBytes(), pooled.nextBytes());
+                terms++;
+            }
+            assertFalse(pooled.hasNext());
+            assertEquals(51, terms); // terms 0..50, the last stepping from 1166642 to 1520986 digits
+        }
+
+        @Test
+        void buffersAreReusedOnceLargeEnough() {
+            LookAndSayGenerator gen = new LookAndSayGenerator(bi("22"), bi("23"));
+            // hydrogen describes itself: 22 -> 22 forever, below end 23
+            CharSequence first = gen.next();
+            CharSequence second = gen.next();
+            CharSequence third = gen.next();
+            assertSame(first, third);
+            assertNotSame(first, second);
+            assertEquals("22", third.toString());
+        }
+    }
+}
@@ -133,4 +133,105 @@ class LookAndSayIteratorTest {
             assertFalse(it.hasPrevious());
         }
     }
+
+    @Nested
+    @DisplayName("History window")
+    class HistoryWindow {
+
+        @Test
+        void historySizeMustNotBeNegative() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new LookAndSayIterator(bi("1"), bi("9999"), -1));
+        }
+
+        @Test
+        void stepsBackOverVisitedTermsInOrder() {
+            LookAndSayIterator it = new LookAndSayIterator(bi("1"), bi("9".repeat(30)), 4);
+            it.next(); // 1
+            it.next(); // 11
+            it.next(); // 21
+            it.next(); // 1211, current is now 111221
+            assertEquals(bi("111221"), it.prev());
+            assertEquals(bi("1211"), it.prev());
+            assertEquals(bi("21"), it.prev());
+            assertEquals(bi("11"), it.prev());      // history is used up, current is 1
+            assertFalse(it.hasPrevious());
+            assertEquals(bi("1"), it.next());
+            assertEquals(bi("11"), it.next());
+        }
+
+        @Test
+        void stepsBackWhereThePairsDoNotParse() {
+            // eleven 1s become 111, which has odd length
+            LookAndSayIterator it = new LookAndSayIterator(bi("11111111111"), bi("9".repeat(30)), 1);
+            it.next();
+            assertTrue(it.hasPrevious());
+            assertEquals(bi("111"), it.prev());
+            assertEquals(bi("11111111111"), it.next());
+        }
+
+        @Test
+        void multiDigitCountsReverseThroughHistory() {
+            LookAndSayIterator it = new LookAndSayIterator(bi("1111111111222"), bi("9".repeat(30)), 2);
+            it.next();                               // current is 10132, which has a zero
+            assertEquals(bi("10132"), it.prev());
+            assertEquals(bi("1111111111222"), it.next());
+        }
+
+        @Test
+        void windowKeepsOnlyTheMostRecentTerms() {
+            LookAndSayIterator it = new LookAndSayIterator(bi("1"), bi("9".repeat(30)), 2);
+            for (int i = 0; i < 6; i++) {
+                it.next();                           // current is 13112221 after six steps
+            }
+            assertEquals(bi("13112221"), it.prev()); // history holds 111221, 312211
+            assertEquals(bi("312211"), it.prev());
+            assertEquals(bi("111221"), it.prev());   // history is empty, 111221 parses back to 1211
+            assertEquals(bi("1211"), it.prev());
+        }
+
+        @Test
+        void sizeZeroKeepsPairParsing() {
+            LookAndSayIterator it = new LookAndSayIterator(bi("1"), bi("9".repeat(30)), 0);
+            it.next();
+            it.next();                               // current is 21
+            assertEquals(bi("21"), it.prev());       // parsed back to 11
+            assertEquals(bi("11"), it.prev());
+            assertFalse(it.hasPrevious());
+        }
+    }
+
+    @Nested
+    @DisplayName("Long sequences")
+    class LongSequences {
+
+        // the plain String look-and-say step, as a reference
+        private String say(String s) {
+            StringBuilder out = new StringBuilder();
+            for (int i = 0, j; i < s.length(); i = j) {
+                for (j = i; j < s.length() && s.charAt(j) == s.charAt(i); j++) { }
+                out.append(j - i).append(s.charAt(i));
+            }
+            return out.toString();
+        }
+
+        @Test
+        void matchesStringReferenceFor40Terms() {
+            LookAndSayIterator it = new LookAndSayIterator(bi("1"), BigInteger.TEN.pow(100_000));
+            String expected = "1";
+            for (int i = 0; i < 40; i++) {
+                assertEquals(bi(expected), it.next());
+                expected = say(expected);
+            }
+            assertEquals(82350, expected.length()); // length of term 41
+        }
+
+        @Test
+        void runsOfTenOrMoreWriteMultiDigitCounts() {
+            LookAndSayIterator it = new LookAndSayIterator(bi("1111111111222"), bi("9".repeat(30)));
+            assertEquals(bi("1111111111222"), it.next());
+            assertEquals(bi("10132"), it.next());
+            assertEquals(bi("1110111312"), it.next());
+        }
+    }
 }
@@ -0,0 +1,77 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+
+import lookandsay.LookAndSayCosmology;
+import lookandsay.LookAndSayIterator;
+import lookandsay.PackedLookAndSayTerm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class PackedLookAndSayTermTest {
+
+    // tiny helper
+    private static BigInteger bi(String s) { return new BigInteger(s); }
+
+    @Nested
+    @DisplayName("Constructor validation")
+    class ConstructorValidation {
+
+        @Test
+        void seedMustUseDigitsOneToThreeInShortRuns() {
+            assertThrows(IllegalArgumentException.class, () -> new PackedLookAndSayTerm(null));
+            assertThrows(IllegalArgumentException.class, () -> new PackedLookAndSayTerm(bi("0")));
+            assertThrows(IllegalArgumentException.class, () -> new PackedLookAndSayTerm(bi("1204")));
+            assertThrows(IllegalArgumentException.class, () -> new PackedLookAndSayTerm(bi("1241")));
+            assertThrows(IllegalArgumentException.class, () -> new PackedLookAndSayTerm(bi("21111"))); // becomes 1241
+            assertEquals("2111", new PackedLookAndSayTerm(bi("2111")).toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Packed next term")
+    class PackedNext {
+
+        @Test
+        void matchesTheIterator() {
+            for (String seed : new String[] {"1", "3", "2111", "123123", "33322211"}) {
+                LookAndSayIterator it = new LookAndSayIterator(bi(seed), BigInteger.TEN.pow(100_000));
+                PackedLookAndSayTerm term = new PackedLookAndSayTerm(bi(seed));
+                for (int n = 0; n < 35; n++) {
+                    assertEquals(it.next(), term.toBigInteger(), "seed " + seed + ", term " + n);
+                    term = term.next();
+                }
+            }
+        }
+
+        @Test
+        void runsAcrossWordBoundariesAreCounted() {
+            // 31 ones then 222 puts the run of 2s across digits 31..33, in two words
+            String seed = "12".repeat(15) + "1" + "222" + "3";
+            PackedLookAndSayTerm term = new PackedLookAndSayTerm(bi(seed));
+            assertEquals("1112".repeat(15) + "11" + "32" + "13", term.next().toString());
+        }
+
+        @Test
+        void lengthsMatchTheCosmology() {
+            LookAndSayCosmology c = new LookAndSayCosmology(BigInteger.ONE);
+            PackedLookAndSayTerm term = new PackedLookAndSayTerm(BigInteger.ONE);
+            for (int n = 0; n < 50; n++) {
+                term = term.next();
+            }
+            assertEquals(c.length(50).longValue(), term.length());
+            assertEquals(c.digitAt(50, BigInteger.valueOf(123_456)), term.digitAt(123_456));
+            assertEquals(1, term.digitAt(term.length() - 1));
+        }
+
+        @Test
+        void digitAtChecksTheIndex() {
+            PackedLookAndSayTerm term = new PackedLookAndSayTerm(bi("312211"));
+            assertEquals(3, term.digitAt(0));
+            assertEquals(2, term.digitAt(2));
+            assertThrows(IllegalArgumentException.class, () -> term.digitAt(-1));
+            assertThrows(IllegalArgumentException.class, () -> term.digitAt(6));
+        }
+    }
+}
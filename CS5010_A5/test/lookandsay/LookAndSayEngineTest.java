@@ -0,0 +1,80 @@
+package lookandsay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class LookAndSayEngineTest {
+
+    @Nested
+    @DisplayName("Sequential next term")
+    class SequentialNext {
+
+        @Test
+        void resultIsExactlyTheDescription() {
+            byte[] term = "1111111111222".getBytes(); // ten 1s need a two-digit count
+            assertEquals(5, LookAndSayEngine.describedLength(term, 0, term.length));
+            assertArrayEquals("10132".getBytes(), LookAndSayEngine.next(term));
+        }
+
+        @Test
+        void lengthsPastTheArrayLimitAreRejected() {
+            assertEquals(LookAndSayEngine.MAX_ARRAY_LENGTH,
+                    LookAndSayEngine.checkedLength(LookAndSayEngine.MAX_ARRAY_LENGTH));
+            assertThrows(IllegalArgumentException.class,
+                    () -> LookAndSayEngine.checkedLength(LookAndSayEngine.MAX_ARRAY_LENGTH + 1L));
+            assertThrows(IllegalArgumentException.class,
+                    () -> LookAndSayEngine.checkedLength(3L * Integer.MAX_VALUE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel next term")
+    class ParallelNext {
+
+        private final ForkJoinPool pool = new ForkJoinPool(4);
+
+        // the next term, described on the pool into a buffer of exactly the right size
+        private byte[] next(byte[] term, ForkJoinPool pool) {
+            byte[] out = new byte[(int) LookAndSayEngine.describedLength(term, 0, term.length)];
+            assertEquals(out.length, LookAndSayEngine.describe(term, term.length, out, pool));
+            return out;
+        }
+
+        @Test
+        void matchesSequentialStepPastTheThreshold() {
+            byte[] term = LookAndSayEngine.digitsOf(BigInteger.ONE);
+            for (int n = 0; n < 60; n++) {
+                byte[] next = LookAndSayEngine.next(term);
+                assertArrayEquals(next, next(term, pool), "term " + (n + 1));
+                term = next;
+            }
+            assertTrue(term.length > LookAndSayEngine.PARALLEL_THRESHOLD);
+        }
+
+        @Test
+        void runsLongerThanAChunkStayWhole() {
+            // one run of 7s spans several nominal cuts and must be described once
+            byte[] term = new byte[3 * LookAndSayEngine.CHUNK_SIZE + 3_000_000];
+            Arrays.fill(term, (byte) '7');
+            Arrays.fill(term, 0, 5, (byte) '1');
+            Arrays.fill(term, term.length - 2, term.length, (byte) '2');
+            byte[] expected = LookAndSayEngine.next(term);
+            assertArrayEquals(expected, next(term, pool));
+            assertEquals("51" + (term.length - 7) + "722", new String(expected));
+        }
+
+        @Test
+        void shortTermsAndNullPoolStepSequentially() {
+            byte[] term = "312211".getBytes();
+            assertArrayEquals("13112221".getBytes(), next(term, pool));
+            assertArrayEquals("13112221".getBytes(), next(term, null));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package lookandsay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class LookAndSayGeneratorTest {
+
+    @Nested
+    @DisplayName("Spare buffer growth")
+    class SpareBufferGrowth {
+
+        private final int max = LookAndSayEngine.MAX_ARRAY_LENGTH;
+
+        @Test
+        void bigEnoughBuffersAreKept() {
+            assertEquals(20, LookAndSayGenerator.capacityFor(20, 10, () -> { throw new AssertionError(); }));
+        }
+
+        @Test
+        void growsToTwiceTheTermOrByHalf() {
+            assertEquals(20, LookAndSayGenerator.capacityFor(4, 10, () -> { throw new AssertionError(); }));
+            assertEquals(150, LookAndSayGenerator.capacityFor(100, 60, () -> { throw new AssertionError(); }));
+        }
+
+        @Test
+        void nearTheLimitSizesForTheActualNextTerm() {
+            int length = (1 << 30) + 5; // 2 * length overflows an int
+            assertEquals(max, LookAndSayGenerator.capacityFor(length, length, () -> 1_400_000_000L));
+            assertEquals(1_500_000_000, LookAndSayGenerator.capacityFor(1_500_000_000, length, () -> 1_400_000_000L));
+        }
+
+        @Test
+        void nextTermsPastTheLimitAreRejected() {
+            int length = 2_000_000_000;
+            assertThrows(IllegalArgumentException.class,
+                    () -> LookAndSayGenerator.capacityFor(length, length, () -> 2_600_000_000L));
+        }
+    }
+}